@@ -0,0 +1,351 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest.processor;
+
+import org.cornutum.hamcrest.CompositeMatched;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static java.util.stream.Collectors.toList;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link org.cornutum.hamcrest.BaseCompositeMatcher} subclass for each class annotated with
+ * {@link CompositeMatched}.
+ * <P/>
+ * The generated matcher compares each bean property of the annotated class using a direct getter reference.
+ * Each property is compared by a Matcher chosen according to its declared type.
+ * <UL>
+ * <LI> A List property must satisfy the {@link org.cornutum.hamcrest.ListsMembers} matcher.</LI>
+ * <LI> Any other Iterable property must satisfy the {@link org.cornutum.hamcrest.ContainsMembers} matcher.</LI>
+ * <LI> A Map property must satisfy the {@link org.cornutum.hamcrest.ContainsEntries} matcher.</LI>
+ * <LI> An array property must satisfy the {@link org.cornutum.hamcrest.ListsElements} matcher.</LI>
+ * <LI> Any other property must satisfy the {@link org.hamcrest.core.IsEqual} matcher.</LI>
+ * </UL>
+ * Any member of a container property or any other property that is also a {@link CompositeMatched} class is
+ * compared using its generated matcher.
+ */
+public class CompositeMatcherProcessor extends AbstractProcessor
+  {
+  /**
+   * Creates a new CompositeMatcherProcessor instance.
+   */
+  public CompositeMatcherProcessor()
+    {
+    super();
+    }
+
+  public Set<String> getSupportedAnnotationTypes()
+    {
+    return Collections.singleton( CompositeMatched.class.getCanonicalName());
+    }
+
+  public SourceVersion getSupportedSourceVersion()
+    {
+    return SourceVersion.latestSupported();
+    }
+
+  public boolean process( Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+    for( TypeElement type : ElementFilter.typesIn( roundEnv.getElementsAnnotatedWith( CompositeMatched.class)))
+      {
+      if( !type.getTypeParameters().isEmpty())
+        {
+        processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Can't generate a matcher for a generic class", type);
+        }
+      else if( type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains( Modifier.STATIC))
+        {
+        processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Can't generate a matcher for an inner class", type);
+        }
+      else
+        {
+        try
+          {
+          generateMatcher( type);
+          }
+        catch( IOException e)
+          {
+          processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Can't generate a matcher: " + e.getMessage(), type);
+          }
+        }
+      }
+
+    return true;
+    }
+
+  /**
+   * Writes the source file for the matcher generated for the given type.
+   */
+  private void generateMatcher( TypeElement type) throws IOException
+    {
+    String packageName = getPackage( type).getQualifiedName().toString();
+    String matcherName = matcherSimpleName( type);
+    String typeName = type.getQualifiedName().toString();
+
+    try( PrintWriter source =
+         new PrintWriter(
+           processingEnv.getFiler()
+           .createSourceFile( packageName.isEmpty()? matcherName : packageName + "." + matcherName, type)
+           .openWriter()))
+      {
+      if( !packageName.isEmpty())
+        {
+        source.println( "package " + packageName + ";");
+        source.println();
+        }
+
+      source.println( "import org.cornutum.hamcrest.BaseCompositeMatcher;");
+      source.println( "import org.cornutum.hamcrest.CompositePlan;");
+      source.println( "import org.hamcrest.Matchers;");
+      source.println();
+      source.println( "/**");
+      source.println( " * Matches a {@link " + typeName + "} property-by-property.");
+      source.println( " * Generated by " + getClass().getName() + ".");
+      source.println( " */");
+      source.println( "public class " + matcherName + " extends BaseCompositeMatcher<" + typeName + ">");
+      source.println( "  {");
+      source.println( "  private static final CompositePlan<" + typeName + "> PLAN =");
+      source.println( "    new CompositePlan.Builder<" + typeName + ">()");
+
+      for( Map.Entry<String,ExecutableElement> property : getProperties( type).entrySet())
+        {
+        source.println(
+          String.format(
+            "    .expectThat( \"%s\", %s::%s, %s)",
+            property.getKey(),
+            typeName,
+            property.getValue().getSimpleName(),
+            resultMatcherSupplier( property.getValue().getReturnType())));
+        }
+
+      source.println( "    .build();");
+      source.println();
+      source.println( "  /**");
+      source.println( "   * Creates a new " + matcherName + " instance.");
+      source.println( "   */");
+      source.println( "  public " + matcherName + "( " + typeName + " expected)");
+      source.println( "    {");
+      source.println( "    super( expected, PLAN);");
+      source.println( "    }");
+      source.println( "  }");
+      }
+    }
+
+  /**
+   * Returns the property getters for the given type, ordered by property name.
+   */
+  private Map<String,ExecutableElement> getProperties( TypeElement type)
+    {
+    List<ExecutableElement> getters =
+      ElementFilter.methodsIn( processingEnv.getElementUtils().getAllMembers( type))
+      .stream()
+      .filter( method -> method.getModifiers().contains( Modifier.PUBLIC))
+      .filter( method -> !method.getModifiers().contains( Modifier.STATIC))
+      .filter( method -> method.getParameters().isEmpty())
+      .filter( method -> !((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals( "java.lang.Object"))
+      .filter( method -> !propertyName( method).isEmpty())
+      .sorted( Comparator.comparing( CompositeMatcherProcessor::propertyName))
+      .collect( toList());
+
+    Map<String,ExecutableElement> properties = new LinkedHashMap<String,ExecutableElement>();
+    for( ExecutableElement getter : getters)
+      {
+      properties.putIfAbsent( propertyName( getter), getter);
+      }
+
+    return properties;
+    }
+
+  /**
+   * If the given method is a property getter, returns the property name. Otherwise, returns an empty string.
+   */
+  private static String propertyName( ExecutableElement method)
+    {
+    String name = method.getSimpleName().toString();
+    TypeMirror type = method.getReturnType();
+
+    String property =
+      name.startsWith( "get") && type.getKind() != TypeKind.VOID?
+      name.substring( 3) :
+
+      name.startsWith( "is") && (type.getKind() == TypeKind.BOOLEAN || type.toString().equals( "java.lang.Boolean"))?
+      name.substring( 2) :
+
+      "";
+
+    return
+      property.isEmpty()
+      ? property
+      : Character.toLowerCase( property.charAt(0)) + property.substring( 1);
+    }
+
+  /**
+   * Returns the source expression for the supplier of the Matcher for a property of the given type.
+   */
+  private String resultMatcherSupplier( TypeMirror type)
+    {
+    String supplier = null;
+
+    if( type.getKind() == TypeKind.ARRAY)
+      {
+      TypeMirror componentType = ((ArrayType) type).getComponentType();
+      if( !componentType.getKind().isPrimitive())
+        {
+        supplier = "listsElementsMatching( " + memberMatcherSupplier( componentType) + ")";
+        }
+      }
+    else if( type.getKind() == TypeKind.DECLARED)
+      {
+      List<? extends TypeMirror> typeArgs;
+      if( (typeArgs = typeArgumentsAs( type, "java.util.List")) != null)
+        {
+        if( isConcrete( typeArgs, 1))
+          {
+          supplier = "listsMembersMatching( " + memberMatcherSupplier( typeArgs.get(0)) + ")";
+          }
+        }
+      else if( (typeArgs = typeArgumentsAs( type, "java.lang.Iterable")) != null)
+        {
+        if( isConcrete( typeArgs, 1))
+          {
+          supplier = "containsMembersMatching( " + memberMatcherSupplier( typeArgs.get(0)) + ")";
+          }
+        }
+      else if( (typeArgs = typeArgumentsAs( type, "java.util.Map")) != null)
+        {
+        if( isConcrete( typeArgs, 2))
+          {
+          supplier = "containsEntriesMatching( " + memberMatcherSupplier( typeArgs.get(1)) + ")";
+          }
+        }
+      }
+
+    return
+      supplier == null
+      ? memberMatcherSupplier( type)
+      : supplier;
+    }
+
+  /**
+   * Returns the source expression for the supplier of the Matcher for a value of the given type.
+   */
+  private String memberMatcherSupplier( TypeMirror type)
+    {
+    Element element = processingEnv.getTypeUtils().asElement( type);
+    return
+      element != null && element.getKind() == ElementKind.CLASS && element.getAnnotation( CompositeMatched.class) != null
+      ? matcherName( (TypeElement) element) + "::new"
+      : "Matchers::equalTo";
+    }
+
+  /**
+   * If the given type is a subtype of the named generic type, returns the type arguments of the named type as a
+   * supertype of the given type. For example, the type arguments of <CODE>TreeMap&lt;String,Frame&gt;</CODE> as a
+   * <CODE>java.util.Map</CODE> are <CODE>[String, Frame]</CODE>. If the named type is a raw supertype, returns an
+   * empty list. Otherwise, returns null.
+   */
+  private List<? extends TypeMirror> typeArgumentsAs( TypeMirror type, String name)
+    {
+    List<? extends TypeMirror> typeArgs = null;
+    if( isErasure( type, name))
+      {
+      typeArgs = ((DeclaredType) type).getTypeArguments();
+      }
+    else
+      {
+      for( Iterator<? extends TypeMirror> supertypes = processingEnv.getTypeUtils().directSupertypes( type).iterator();
+           typeArgs == null && supertypes.hasNext();)
+        {
+        typeArgs = typeArgumentsAs( supertypes.next(), name);
+        }
+      }
+
+    return typeArgs;
+    }
+
+  /**
+   * Returns if the given type arguments are the given number of concrete types.
+   */
+  private boolean isConcrete( List<? extends TypeMirror> typeArgs, int count)
+    {
+    return
+      typeArgs.size() == count
+      && typeArgs.stream().allMatch( arg -> arg.getKind() == TypeKind.DECLARED || arg.getKind() == TypeKind.ARRAY);
+    }
+
+  /**
+   * Returns if the erasure of the given type is the erasure of the named type.
+   */
+  private boolean isErasure( TypeMirror type, String name)
+    {
+    TypeElement other = processingEnv.getElementUtils().getTypeElement( name);
+    return
+      other != null
+      && processingEnv.getTypeUtils().isSameType(
+        processingEnv.getTypeUtils().erasure( type),
+        processingEnv.getTypeUtils().erasure( other.asType()));
+    }
+
+  /**
+   * Returns the fully-qualified name of the matcher generated for the given type.
+   */
+  private String matcherName( TypeElement type)
+    {
+    String packageName = getPackage( type).getQualifiedName().toString();
+    return
+      packageName.isEmpty()
+      ? matcherSimpleName( type)
+      : packageName + "." + matcherSimpleName( type);
+    }
+
+  /**
+   * Returns the simple name of the matcher generated for the given type. For a nested type, the
+   * names of all enclosing types are included, separated by "_".
+   */
+  private static String matcherSimpleName( TypeElement type)
+    {
+    StringBuilder name = new StringBuilder( type.getSimpleName());
+    for( Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement())
+      {
+      name.insert( 0, '_').insert( 0, enclosing.getSimpleName());
+      }
+
+    return name.append( "Matcher").toString();
+    }
+
+  /**
+   * Returns the package containing the given type.
+   */
+  private PackageElement getPackage( TypeElement type)
+    {
+    return processingEnv.getElementUtils().getPackageOf( type);
+    }
+  }
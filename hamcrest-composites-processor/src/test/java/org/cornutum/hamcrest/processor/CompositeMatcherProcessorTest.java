@@ -0,0 +1,139 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest.processor;
+
+import org.cornutum.hamcrest.processor.Gallery.Frame;
+import static org.cornutum.hamcrest.ExpectedFailure.*;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+
+/**
+ * Runs tests for matchers generated by the {@link CompositeMatcherProcessor}.
+ */
+public class CompositeMatcherProcessorTest
+  {
+  @Test
+  public void matchesGallery()
+    {
+    // Given...
+    Gallery expected = new Gallery( "Louvre", new Frame( "Mona Lisa", 1, true), new Frame( "Venus", 3, false));
+    expected.getFeatured().put( "Best", new Frame( "Mona Lisa", 1, true));
+    expected.setTags( "Paris");
+
+    Gallery actual = new Gallery( "Louvre", new Frame( "Mona Lisa", 1, true), new Frame( "Venus", 3, false));
+    actual.getFeatured().put( "Best", new Frame( "Mona Lisa", 1, true));
+    actual.setTags( "Paris");
+
+    // When...
+    assertThat( "Gallery", actual, new GalleryMatcher( expected));
+    }
+
+  @Test
+  public void matchesFrames_fails()
+    {
+    // Given...
+    Gallery expected = new Gallery( "Louvre", new Frame( "Mona Lisa", 1, true), new Frame( "Venus", 3, false));
+    Gallery actual = new Gallery( "Louvre", new Frame( "Mona Lisa", 1, true), new Frame( "Venus", 3, true));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Gallery", actual, new GalleryMatcher( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Gallery[Louvre] matching frames=Sequence containing Frame[Venus] matching hung=<false>",
+                   "but: was <true>"))));
+    }
+
+  @Test
+  public void matchesFeatured_fails()
+    {
+    // Given...
+    Gallery expected = new Gallery( "Louvre");
+    expected.getFeatured().put( "Best", new Frame( "Mona Lisa", 1, true));
+
+    Gallery actual = new Gallery( "Louvre");
+    actual.getFeatured().put( "Best", new Frame( "Mona Lisa", 2, true));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Gallery", actual, new GalleryMatcher( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Gallery[Louvre] matching featured=Map entry set containing Best=Frame[Mona Lisa] matching value=Frame[Mona Lisa] matching size=<1>",
+                   "but: was <2>"))));
+    }
+
+  @Test
+  public void matchesLoans_fails()
+    {
+    // Given...
+    Gallery expected = new Gallery( "Louvre");
+    expected.getLoans().put( "Orsay", new Frame( "Olympia", 2, false));
+
+    Gallery actual = new Gallery( "Louvre");
+    actual.getLoans().put( "Orsay", new Frame( "Olympia", 2, true));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Gallery", actual, new GalleryMatcher( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Gallery[Louvre] matching loans=Map entry set containing Orsay=Frame[Olympia] matching value=Frame[Olympia] matching hung=<false>",
+                   "but: was <true>"))));
+    }
+
+  @Test
+  public void matchesTags_fails()
+    {
+    // Given...
+    Gallery expected = new Gallery( "Louvre");
+    expected.setTags( "Paris", "France");
+
+    Gallery actual = new Gallery( "Louvre");
+    actual.setTags( "Paris");
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Gallery", actual, new GalleryMatcher( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Gallery[Louvre] matching tags=Sequence of 2 members",
+                   "but: was missing 1 members=[France]"))));
+    }
+
+  @Test
+  public void matchesNestedClass()
+    {
+    // Given...
+    Frame expected = new Frame( "Mona Lisa", 1, true);
+    Frame actual = new Frame( "Mona Lisa", 1, true);
+
+    // When...
+    assertThat( "Frame", actual, new Gallery_FrameMatcher( expected));
+    }
+  }
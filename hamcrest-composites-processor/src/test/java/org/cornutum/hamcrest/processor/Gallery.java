@@ -0,0 +1,127 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest.processor;
+
+import org.cornutum.hamcrest.CompositeMatched;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A collection of framed pictures.
+ */
+@CompositeMatched
+public class Gallery
+  {
+  private final String name;
+  private final List<Frame> frames;
+  private final Map<String,Frame> featured;
+  private final TreeMap<String,Frame> loans;
+  private String[] tags;
+
+  public Gallery( String name, Frame... frames)
+    {
+    this.name = name;
+    this.frames = Arrays.asList( frames);
+    this.featured = new LinkedHashMap<String,Frame>();
+    this.loans = new TreeMap<String,Frame>();
+    }
+
+  public String getName()
+    {
+    return name;
+    }
+
+  public List<Frame> getFrames()
+    {
+    return frames;
+    }
+
+  public Map<String,Frame> getFeatured()
+    {
+    return featured;
+    }
+
+  public TreeMap<String,Frame> getLoans()
+    {
+    return loans;
+    }
+
+  public void setTags( String... tags)
+    {
+    this.tags = tags;
+    }
+
+  public String[] getTags()
+    {
+    return tags;
+    }
+
+  public String toString()
+    {
+    return "Gallery[" + getName() + "]";
+    }
+
+  /**
+   * A framed picture.
+   */
+  @CompositeMatched
+  public static class Frame
+    {
+    private final String title;
+    private final int size;
+    private final boolean hung;
+
+    public Frame( String title, int size, boolean hung)
+      {
+      this.title = title;
+      this.size = size;
+      this.hung = hung;
+      }
+
+    public String getTitle()
+      {
+      return title;
+      }
+
+    public int getSize()
+      {
+      return size;
+      }
+
+    public boolean isHung()
+      {
+      return hung;
+      }
+
+    public boolean equals( Object object)
+      {
+      Frame other =
+        object != null && object.getClass().equals( getClass())
+        ? (Frame) object
+        : null;
+
+      return
+        other != null
+        && other.getTitle().equals( getTitle());
+      }
+
+    public int hashCode()
+      {
+      return getClass().hashCode() ^ getTitle().hashCode();
+      }
+
+    public String toString()
+      {
+      return "Frame[" + getTitle() + "]";
+      }
+    }
+  }
@@ -0,0 +1,146 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.Composites.*;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares the hash-based and the sort-merge pairing of {@link ContainsMembers} for members with
+ * cheap, expensive, or degenerate hash codes.
+ * <P/>
+ * To run: <CODE>mvn -Pbenchmark -pl hamcrest-composites test-compile exec:exec -Dbenchmark.includes=ContainsMembersBenchmark</CODE>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainsMembersBenchmark
+  {
+  @Param({"1000", "100000"})
+  private int size;
+
+  @Param({"CHEAP", "EXPENSIVE", "DEGENERATE"})
+  private HashCost hashCost;
+
+  private List<Member> expected;
+  private List<Member> actual;
+
+  /**
+   * Defines the cost of computing a {@link Member} hash code.
+   */
+  public enum HashCost
+    {
+      CHEAP,
+      EXPENSIVE,
+      DEGENERATE
+    };
+
+  /**
+   * A collection member that has a cheap natural order.
+   */
+  public static class Member
+    {
+    private final int id;
+    private final HashCost hashCost;
+
+    public Member( int id, HashCost hashCost)
+      {
+      this.id = id;
+      this.hashCost = hashCost;
+      }
+
+    public int getId()
+      {
+      return id;
+      }
+
+    public boolean equals( Object object)
+      {
+      return
+        object instanceof Member
+        && ((Member) object).getId() == getId();
+      }
+
+    public int hashCode()
+      {
+      int hash;
+      switch( hashCost)
+        {
+        case EXPENSIVE:
+          {
+          hash = id;
+          for( int i = 0; i < 256; i++)
+            {
+            hash = 31 * hash + Integer.rotateLeft( hash ^ i, 7);
+            }
+          break;
+          }
+        case DEGENERATE:
+          {
+          hash = id % 8;
+          break;
+          }
+        default:
+          {
+          hash = id;
+          break;
+          }
+        }
+
+      return hash;
+      }
+
+    public String toString()
+      {
+      return "Member[" + id + "]";
+      }
+    }
+
+  @Setup
+  public void setUp()
+    {
+    expected = IntStream.range( 0, size).mapToObj( i -> new Member( i, hashCost)).collect( toList());
+    actual = new ArrayList<Member>( expected);
+    Collections.shuffle( actual, new Random( size));
+    }
+
+  @Benchmark
+  public boolean byHash()
+    {
+    return containsMembers( expected).matches( actual);
+    }
+
+  @Benchmark
+  public boolean byOrder()
+    {
+    return containsMembersOrdered( Comparator.comparingInt( Member::getId), expected).matches( actual);
+    }
+  }
@@ -0,0 +1,76 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares the default {@link ContainsMembers} match with a {@link ContainsMembers#fingerprinted fingerprinted}
+ * match, for actual collections that either contain the expected members or differ by a single member.
+ * <P/>
+ * To run: <CODE>mvn -Pbenchmark -pl hamcrest-composites test-compile exec:exec -Dbenchmark.includes=ContainsMembersFingerprintBenchmark</CODE>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainsMembersFingerprintBenchmark
+  {
+  @Param({"1000", "100000"})
+  private int size;
+
+  @Param({"true", "false"})
+  private boolean equalMembers;
+
+  private List<String> expected;
+  private List<String> actual;
+
+  @Setup
+  public void setUp()
+    {
+    expected = IntStream.range( 0, size).mapToObj( i -> "Member-" + i).collect( toList());
+    actual = new ArrayList<String>( expected);
+    if( !equalMembers)
+      {
+      actual.set( size / 2, "Other");
+      }
+    Collections.shuffle( actual, new Random( size));
+    }
+
+  @Benchmark
+  public boolean byDefault()
+    {
+    return new ContainsMembers<String>( expected).matches( actual);
+    }
+
+  @Benchmark
+  public boolean byFingerprint()
+    {
+    return new ContainsMembers<String>( expected).fingerprinted().matches( actual);
+    }
+  }
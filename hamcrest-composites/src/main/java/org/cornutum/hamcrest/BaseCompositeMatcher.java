@@ -0,0 +1,593 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Base class for a Matcher that applies a sequence of Matchers to a single object.
+ * <P/>
+ * To define a "deep match" between two instances of type <CODE>T</CODE>, create a subclass that
+ * uses {@link #expectThat(String,Function,Function) expectThat()} to add
+ * Matchers that compare instances property-by-property.
+ * <P/>
+ * Alternatively, to avoid rebuilding the same Matcher sequence for every expected instance, a subclass can define
+ * a {@link CompositePlan} once and pass it to the {@link #BaseCompositeMatcher(Object,CompositePlan) plan constructor}.
+ * <P/>
+ * Object graphs with cycles, such as back-references from child to parent, can be matched safely. While matching an
+ * expected object with an actual object, a nested match of the same Matcher class with the same pair of objects is
+ * assumed to succeed, so that the result depends only on the other differences found along the cycle.
+ */
+public abstract class BaseCompositeMatcher<T> extends BaseMatcher<T> implements Preparable
+  {
+  private static final ClassValue<AtomicReference<PropertyStats>> propertyStats =
+    new ClassValue<AtomicReference<PropertyStats>>()
+      {
+      protected AtomicReference<PropertyStats> computeValue( Class<?> type)
+        {
+        return new AtomicReference<PropertyStats>();
+        }
+      };
+
+  private final T expected;
+  private final PerThread<CompositeMatcher> compositeMatcher = new PerThread<CompositeMatcher>();
+  private List<Function<T,Matcher<? super T>>> matcherSuppliers;
+  private boolean planned;
+  private boolean adaptive;
+  private boolean memoized;
+  private volatile boolean prepared;
+  private volatile AtomicReferenceArray<Matcher<? super T>> matchers;
+
+  /**
+   * Applies a sequence of Matchers to a single object.
+   */
+  private class CompositeMatcher
+    {
+    private final Object matched;
+    private Matcher<? super T> mismatch;
+    private int mismatchPosition;
+    private boolean[] evaluated;
+    private boolean revisited;
+    
+    /**
+     * Creates a new CompositeMatcher instance.
+     */
+    @SuppressWarnings("unchecked")
+    public CompositeMatcher( Object object)
+      {
+      matched = object;
+
+      if( (expected == null) != (object == null))
+        {
+        mismatch =
+          expected == null
+          ? new IsNull<T>()
+          : new IsNot<T>( new IsNull<T>());
+        }
+      else if( (mismatch = getTypeMismatch( object)) == null)
+        {
+        T actual = (T) object;
+
+        // Is this match already in progress, because the object graphs have a cycle?
+        MatchStack stack = actual == null? null : MatchStack.current();
+        if( stack != null && (revisited = !stack.push( getMatchKey(), expected, actual)))
+          {
+          // Yes, so assume that it succeeds. Any difference will be found by the match in progress.
+          }
+        else
+          {
+          boolean dependent;
+          try
+            {
+            if( adaptive)
+              {
+              matchAdaptive( actual);
+              }
+            else
+              {
+              matchDeclared( actual);
+              }
+            }
+          finally
+            {
+            dependent = stack != null && stack.pop();
+            }
+
+          // A success that assumes an enclosing match succeeds is not yet known to be final.
+          if( memoized && stack != null && (mismatch != null || !dependent))
+            {
+            stack.remember( getMatchKey(), expected, actual, this);
+            }
+          }
+        }
+      }
+
+    /**
+     * Applies Matchers in the order declared, stopping at the first mismatch.
+     */
+    private void matchDeclared( T actual)
+      {
+      for( int i = 0; mismatch == null && i < matcherSuppliers.size(); i++)
+        {
+        Matcher<? super T> matcher = getMatcher(i);
+        if( !matcher.matches( actual))
+          {
+          mismatch = matcher;
+          }
+        }
+      }
+
+    /**
+     * Applies Matchers in the order most likely to find a mismatch cheaply, recording the cost and result of
+     * each Matcher applied.
+     */
+    private void matchAdaptive( T actual)
+      {
+      PropertyStats stats = getPropertyStats();
+      int[] order = stats.getOrder();
+      evaluated = new boolean[ order.length];
+
+      for( int i = 0; mismatch == null && i < order.length; i++)
+        {
+        int position = order[i];
+        Matcher<? super T> matcher = getMatcher( position);
+
+        long start = System.nanoTime();
+        boolean matches = matcher.matches( actual);
+        stats.record( position, System.nanoTime() - start, !matches);
+
+        evaluated[ position] = true;
+        if( !matches)
+          {
+          mismatch = matcher;
+          mismatchPosition = position;
+          }
+        }
+      }
+
+    /**
+     * Returns the matching result.
+     */
+    public boolean matches()
+      {
+      return mismatch == null;
+      }
+
+    /**
+     * Returns if this CompositeMatcher revisited a match already in progress on the current thread, which is
+     * assumed to succeed.
+     */
+    public boolean isRevisited()
+      {
+      return revisited;
+      }
+
+    /**
+     * Returns the object matched by this CompositeMatcher.
+     */
+    public Object getMatched()
+      {
+      return matched;
+      }
+
+    /**
+     * Returns the first Matcher not satisfied by the {@link #getMatched matched} object.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<Matcher<? super T>> getMismatch()
+      {
+      if( evaluated != null && mismatch != null)
+        {
+        // To report the same mismatch as declared order, apply any earlier Matchers skipped by adaptive order.
+        MatchStack stack = MatchStack.current();
+        boolean pushed = stack.push( getMatchKey(), expected, matched);
+        try
+          {
+          for( int i = 0; i < mismatchPosition; i++)
+            {
+            if( !evaluated[i])
+              {
+              evaluated[i] = true;
+              Matcher<? super T> matcher = getMatcher(i);
+              if( !matcher.matches( (T) matched))
+                {
+                mismatch = matcher;
+                mismatchPosition = i;
+                }
+              }
+            }
+          }
+        finally
+          {
+          if( pushed)
+            {
+            stack.pop();
+            }
+          }
+
+        evaluated = null;
+        }
+
+      return Optional.ofNullable( mismatch);
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), BaseCompositeMatcher.this.getClass().getSimpleName());
+      }
+    }
+   
+  /**
+   * Creates a new BaseCompositeMatcher instance.
+   */
+  protected BaseCompositeMatcher( T expected)
+    {
+    this.expected = expected;
+    this.matcherSuppliers = new ArrayList<Function<T,Matcher<? super T>>>();
+    this.planned = false;
+    }
+
+  /**
+   * Creates a new BaseCompositeMatcher instance that applies the Matchers defined by the given plan.
+   * The plan is shared, not copied, so only the expected object is bound to this instance.
+   */
+  protected BaseCompositeMatcher( T expected, CompositePlan<T> plan)
+    {
+    this.expected = expected;
+    this.matcherSuppliers = plan.getMatcherSuppliers();
+    this.planned = true;
+    this.adaptive = plan.isAdaptive();
+    this.memoized = plan.isMemoized();
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects. Each of its Matchers is prepared in turn, including
+   * any Matcher not yet supplied, which is prepared when first applied.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    if( !prepared)
+      {
+      prepared = true;
+      AtomicReferenceArray<Matcher<? super T>> supplied = matchers;
+      for( int i = 0; supplied != null && i < supplied.length(); i++)
+        {
+        Preparable.prepare( supplied.get(i));
+        }
+      }
+    }
+
+  public boolean matches( Object actual)
+    {
+    return getCompositeMatcher( actual).matches();
+    }
+
+  public void describeTo( Description description)
+    {
+    description .appendText( String.valueOf( expected));
+    getMismatch().ifPresent( m -> { description.appendText( " matching "); m.describeTo( description); });
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    getCompositeMatcher( actual).getMismatch().ifPresent( m -> m.describeMismatch( actual, description));
+    }
+
+  /**
+   * If the given object is incompatible with the expected type, returns a Matcher that describes the mismatch.
+   * Otherwise, return null;
+   */
+  protected Matcher<? super T> getTypeMismatch( Object object)
+    {
+    // By default, the expected type is undefined. Successful cast of the given object is assumed.
+    return null;
+    }
+
+  /**
+   * Returns the key that identifies the comparison made by this Matcher. A match in progress between the same pair of
+   * expected and actual objects, or a result remembered for it, is recognized only for a Matcher with an equal key, so
+   * Matchers with equal keys must compare the same properties. By default, the key is the class of this Matcher.
+   */
+  protected Object getMatchKey()
+    {
+    return getClass();
+    }
+
+  /**
+   * Changes this Matcher to apply its Matchers in an adaptive order, based on the cost and failure rate observed
+   * for all instances of this Matcher class. Cheap Matchers that often fail are applied first.
+   * <P/>
+   * Adaptive order changes only the cost of a match, not its result. When a mismatch is described, any earlier
+   * Matchers skipped are applied, so that the mismatch reported is the same as for declared order.
+   */
+  protected void adaptive()
+    {
+    adaptive = true;
+    }
+
+  /**
+   * Changes this Matcher to remember the result of each match until the outermost match in progress is complete.
+   * When the same pair of expected and actual objects is reached again during the same match -- for example, when
+   * both object graphs share the same node in many places -- any instance of this Matcher with an equal
+   * {@link #getMatchKey match key} reuses the remembered result instead of comparing the pair again.
+   * <P/>
+   * A mismatch is always remembered. But a successful match is not remembered if its result assumed that an
+   * enclosing match in progress succeeds, because the object graphs have a cycle.
+   */
+  protected void memoized()
+    {
+    memoized = true;
+    }
+
+  /**
+   * Adds the Matcher supplied for the expected object to the matchers applied by this Matcher. The Matcher is
+   * supplied only when first applied.
+   */
+  protected void expectThat( Function<T,Matcher<? super T>> matcherSupplier)
+    {
+    if( planned)
+      {
+      // Extending a shared plan? Then extend a private copy.
+      matcherSuppliers = new ArrayList<Function<T,Matcher<? super T>>>( matcherSuppliers);
+      planned = false;
+      }
+    matcherSuppliers.add( matcherSupplier);
+    }
+
+  /**
+   * Adds a {@link MatchesFunction} matcher for the expected object to the matchers applied by this Matcher.
+   * The Matcher is created only when first applied.
+   */
+  protected <R> void expectThat( String functionName, Function<T,R> function, Function<R,Matcher<R>> resultMatcherSupplier)
+    {
+    expectThat( source -> new MatchesFunction<T,R>( functionName, function, source, resultMatcherSupplier));
+    }
+
+  /**
+   * Returns the Matcher at the given position in the matchers applied by this Matcher, supplying it when first needed.
+   */
+  private Matcher<? super T> getMatcher( int position)
+    {
+    AtomicReferenceArray<Matcher<? super T>> supplied = matchers;
+    if( supplied == null || supplied.length() <= position)
+      {
+      supplied = allocateMatchers();
+      }
+
+    Matcher<? super T> matcher = supplied.get( position);
+    if( matcher == null)
+      {
+      // If another thread supplies this Matcher concurrently, use the first one supplied.
+      Matcher<? super T> newMatcher = matcherSuppliers.get( position).apply( expected);
+      if( prepared)
+        {
+        Preparable.prepare( newMatcher);
+        }
+      matcher =
+        supplied.compareAndSet( position, null, newMatcher)
+        ? newMatcher
+        : supplied.get( position);
+      }
+
+    return matcher;
+    }
+
+  /**
+   * Returns the Matchers supplied so far, allocating room for all Matchers applied by this Matcher.
+   */
+  private synchronized AtomicReferenceArray<Matcher<? super T>> allocateMatchers()
+    {
+    int size = matcherSuppliers.size();
+    if( matchers == null || matchers.length() < size)
+      {
+      AtomicReferenceArray<Matcher<? super T>> allocated = new AtomicReferenceArray<Matcher<? super T>>( size);
+      for( int i = 0; matchers != null && i < matchers.length(); i++)
+        {
+        allocated.set( i, matchers.get(i));
+        }
+      matchers = allocated;
+      }
+
+    return matchers;
+    }
+
+  /**
+   * Decorates another Matcher supplier to provide a more expressive interface.
+   */
+  protected Function<T,Matcher<? super T>> matches( Function<T,Matcher<? super T>> matcherSupplier)
+    {
+    return matcherSupplier;
+    }
+
+  /**
+   * Returns a new {@link MatchesFunction.Supplier} that supplies a {@link MatchesFunction} matcher using
+   * the given function.
+   */
+  protected <R> MatchesFunction.Supplier<T,R> valueOf( String functionName, Function<T,R> function)
+    {
+    return new MatchesFunction.Supplier<>( functionName, function);
+    }
+
+  /**
+   * Returns a new {@link ContainsMembers.Supplier} that supplies a {@link ContainsMembers} matcher using
+   * the given member Matcher supplier.
+   */
+  protected static <T,S extends Iterable<T>> ContainsMembers.Supplier<T,S> containsMembersMatching( Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new ContainsMembers.Supplier<>( memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ContainsMembers.Supplier} that supplies a {@link ContainsMembers} matcher that pairs
+   * members using the given key function and then matches them using the given member Matcher supplier.
+   */
+  protected static <T,K,S extends Iterable<T>> ContainsMembers.Supplier<T,S> containsMembersMatching( Function<T,K> memberKey, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new ContainsMembers.Supplier<>( memberKey, memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ContainsElements.Supplier} that supplies a {@link ContainsElements} matcher using
+   * the given element Matcher supplier.
+   */
+  protected static <T> ContainsElements.Supplier<T> containsElementsMatching( Function<T,Matcher<T>> elementMatcherSupplier)
+    {
+    return new ContainsElements.Supplier<>( elementMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link VisitsMembers.Supplier} that supplies a {@link VisitsMembers} matcher using
+   * the given member Matcher supplier.
+   */
+  protected static <T> VisitsMembers.Supplier<T> visitsMembersMatching( Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new VisitsMembers.Supplier<>( memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ListsMembers.Supplier} that supplies a {@link ListsMembers} matcher using
+   * the given member Matcher supplier.
+   */
+  protected static <T,S extends Iterable<T>> ListsMembers.Supplier<T,S> listsMembersMatching( Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new ListsMembers.Supplier<>( memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ListsMatching.Supplier} that supplies a {@link ListsMatching} matcher using
+   * the given member Matcher supplier.
+   */
+  protected static <T,S extends Iterable<T>> ListsMatching.Supplier<T,S> listsMatching( Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new ListsMatching.Supplier<>( memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ContainsMatching.Supplier} that supplies a {@link ContainsMatching} matcher using
+   * the given member Matcher supplier.
+   */
+  protected static <T,S extends Iterable<T>> ContainsMatching.Supplier<T,S> containsMatching( Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new ContainsMatching.Supplier<>( memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ContainsMatching.Supplier} that supplies a {@link ContainsMatching} matcher using
+   * the given member bucket function and member Matcher supplier.
+   */
+  protected static <T,B,S extends Iterable<T>> ContainsMatching.Supplier<T,S> containsMatching( Function<T,B> memberBucket, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new ContainsMatching.Supplier<>( memberBucket, memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ListsElements.Supplier} that supplies a {@link ListsElements} matcher using
+   * the given element Matcher supplier.
+   */
+  protected static <T> ListsElements.Supplier<T> listsElementsMatching( Function<T,Matcher<T>> elementMatcherSupplier)
+    {
+    return new ListsElements.Supplier<>( elementMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link VisitsList.Supplier} that supplies a {@link VisitsList} matcher using
+   * the given member Matcher supplier.
+   */
+  protected static <T> VisitsList.Supplier<T> visitsListMatching( Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    return new VisitsList.Supplier<>( memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ContainsEntries.Supplier} that supplies a {@link ContainsEntries} matcher that
+   * matches entries using the given value Matcher supplier.
+   */
+  protected static <K,V> ContainsEntries.Supplier<K,V> containsEntriesMatching( Function<V,Matcher<V>> valueMatcherSupplier)
+    {
+    return new ContainsEntries.Supplier<>( valueMatcherSupplier);
+    }
+
+  /**
+   * Returns a new {@link ContainsEntries.Supplier} that supplies a {@link ContainsEntries} matcher that
+   * matches entries using the given key and value Matcher suppliers.
+   */
+  protected static <K,V> ContainsEntries.Supplier<K,V> containsEntriesMatching( Function<K,Matcher<K>> keyMatcherSupplier, Function<V,Matcher<V>> valueMatcherSupplier)
+    {
+    return new ContainsEntries.Supplier<>( keyMatcherSupplier, valueMatcherSupplier);
+    }
+
+  /**
+   * Returns the statistics recorded for the Matchers applied by this Matcher class.
+   */
+  private PropertyStats getPropertyStats()
+    {
+    int size = matcherSuppliers.size();
+    return
+      propertyStats.get( getClass())
+      .updateAndGet( stats -> stats != null && stats.size() == size? stats : new PropertyStats( size));
+    }
+
+  /**
+   * Returns the CompositeMatcher for the given actual object, evaluated on the current thread.
+   */
+  @SuppressWarnings("unchecked")
+  private CompositeMatcher getCompositeMatcher( Object actual)
+    {
+    CompositeMatcher current = compositeMatcher.get();
+    if( current == null || current.getMatched() != actual)
+      {
+      Object remembered =
+        memoized && actual != null
+        ? MatchStack.current().recall( getMatchKey(), expected, actual)
+        : null;
+
+      current =
+        remembered == null
+        ? new CompositeMatcher( actual)
+        : (CompositeMatcher) remembered;
+
+      // A revisited match is assumed to succeed only until the match in progress is complete.
+      if( !current.isRevisited())
+        {
+        compositeMatcher.set( current);
+        }
+      }
+
+    return current;
+    }
+
+  /**
+   * Returns the first Matcher not satisfied by the last invocation of {@link #matches matches()} on the current thread.
+   */
+  private Optional<Matcher<? super T>> getMismatch()
+    {
+    CompositeMatcher current = compositeMatcher.get();
+    return
+      current == null
+      ? Optional.empty()
+      : current.getMismatch();
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
@@ -0,0 +1,154 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Arrays;
+
+/**
+ * Finds a maximum matching in a bipartite graph using the Hopcroft-Karp algorithm.
+ * <P/>
+ * The graph is defined by the list of candidate "right" vertices for each "left" vertex.
+ */
+final class BipartiteMatching
+  {
+  private static final int UNREACHED = Integer.MAX_VALUE;
+
+  private final int[][] candidates;
+  private final int[] matchLeft;
+  private final int[] matchRight;
+  private final int[] distance;
+  private final int[] nextCandidate;
+  private final int[] queue;
+  private final int[] path;
+  private final int[] via;
+
+  /**
+   * Creates a new BipartiteMatching instance.
+   */
+  private BipartiteMatching( int[][] candidates, int rightCount)
+    {
+    int leftCount = candidates.length;
+    this.candidates = candidates;
+    matchLeft = new int[ leftCount];
+    matchRight = new int[ rightCount];
+    distance = new int[ leftCount];
+    nextCandidate = new int[ leftCount];
+    queue = new int[ leftCount];
+    path = new int[ leftCount];
+    via = new int[ leftCount];
+
+    Arrays.fill( matchLeft, -1);
+    Arrays.fill( matchRight, -1);
+    }
+
+  /**
+   * For each left vertex, returns the right vertex assigned by a maximum matching, or -1 if the left vertex is unmatched.
+   */
+  public static int[] maximumMatching( int[][] candidates, int rightCount)
+    {
+    BipartiteMatching matching = new BipartiteMatching( candidates, rightCount);
+    while( matching.layer())
+      {
+      Arrays.fill( matching.nextCandidate, 0);
+      for( int u = 0; u < candidates.length; u++)
+        {
+        if( matching.matchLeft[u] < 0)
+          {
+          matching.augment( u);
+          }
+        }
+      }
+
+    return matching.matchLeft;
+    }
+
+  /**
+   * Assigns the breadth-first distance of each left vertex from the unmatched left vertices. Returns true if any
+   * augmenting path exists.
+   */
+  private boolean layer()
+    {
+    int head = 0;
+    int tail = 0;
+    for( int u = 0; u < matchLeft.length; u++)
+      {
+      if( matchLeft[u] < 0)
+        {
+        distance[u] = 0;
+        queue[ tail++] = u;
+        }
+      else
+        {
+        distance[u] = UNREACHED;
+        }
+      }
+
+    boolean augmentable = false;
+    while( head < tail)
+      {
+      int u = queue[ head++];
+      for( int v : candidates[u])
+        {
+        int w = matchRight[v];
+        if( w < 0)
+          {
+          augmentable = true;
+          }
+        else if( distance[w] == UNREACHED)
+          {
+          distance[w] = distance[u] + 1;
+          queue[ tail++] = w;
+          }
+        }
+      }
+
+    return augmentable;
+    }
+
+  /**
+   * Searches depth-first for an augmenting path along the current layers, starting at the given unmatched left vertex.
+   * If found, flips the matching along the path and returns true.
+   */
+  private boolean augment( int root)
+    {
+    int depth = 0;
+    path[0] = root;
+
+    while( depth >= 0)
+      {
+      int u = path[ depth];
+      if( nextCandidate[u] < candidates[u].length)
+        {
+        int v = candidates[u][ nextCandidate[u]++];
+        int w = matchRight[v];
+        if( w < 0)
+          {
+          via[ depth] = v;
+          for( int i = depth; i >= 0; i--)
+            {
+            matchLeft[ path[i]] = via[i];
+            matchRight[ via[i]] = path[i];
+            }
+          return true;
+          }
+        else if( distance[w] == distance[u] + 1)
+          {
+          via[ depth] = v;
+          path[ ++depth] = w;
+          }
+        }
+      else
+        {
+        distance[u] = UNREACHED;
+        depth--;
+        }
+      }
+
+    return false;
+    }
+  }
@@ -24,6 +24,15 @@ public abstract class ClassCompositeMatcher<T> extends BaseCompositeMatcher<T>
     setExpectedType( expectedType);
     }
 
+  /**
+   * Creates a new ClassCompositeMatcher instance that applies the Matchers defined by the given plan.
+   */
+  protected ClassCompositeMatcher( Class<? extends T> expectedType, T expected, CompositePlan<T> plan)
+    {
+    super( expected, plan);
+    setExpectedType( expectedType);
+    }
+
   /**
    * Changes the expected type for this matcher.
    */
@@ -0,0 +1,29 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifies a class for which a {@link BaseCompositeMatcher} subclass is generated at compile time.
+ * <P/>
+ * When the <CODE>hamcrest-composites-processor</CODE> annotation processor is used, a matcher class named
+ * <CODE><I>TypeName</I>Matcher</CODE> is generated in the same package as the annotated class. The generated matcher
+ * compares all bean properties of the class, in the same way as a {@link DeepMatcher}, but using direct getter calls
+ * instead of accessors derived at runtime.
+ */
+@Documented
+@Retention( RetentionPolicy.CLASS)
+@Target( ElementType.TYPE)
+public @interface CompositeMatched
+  {
+  }
@@ -0,0 +1,133 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Defines the sequence of Matchers applied by a {@link BaseCompositeMatcher}, independent of any expected object.
+ * <P/>
+ * A CompositePlan is immutable, so it can be built once for a matcher class -- for example, in a <CODE>static final</CODE>
+ * field -- and shared by all of its instances. Then each new matcher instance binds only its expected object.
+ */
+public final class CompositePlan<T>
+  {
+  private final List<Function<T,Matcher<? super T>>> matcherSuppliers;
+  private final boolean adaptive;
+  private final boolean memoized;
+
+  /**
+   * Builds a {@link CompositePlan}.
+   */
+  public static class Builder<T>
+    {
+    private final List<Function<T,Matcher<? super T>>> matcherSuppliers = new ArrayList<Function<T,Matcher<? super T>>>();
+    private boolean adaptive;
+    private boolean memoized;
+
+    /**
+     * Adds the given supplier of a Matcher for the expected object.
+     */
+    public Builder<T> expectThat( Function<T,Matcher<? super T>> matcherSupplier)
+      {
+      matcherSuppliers.add( matcherSupplier);
+      return this;
+      }
+
+    /**
+     * Adds a supplier of a {@link MatchesFunction} matcher for the expected object.
+     */
+    public <R> Builder<T> expectThat( String functionName, Function<T,R> function, Function<R,Matcher<R>> resultMatcherSupplier)
+      {
+      return expectThat( valueOf( functionName, function).matches( resultMatcherSupplier));
+      }
+
+    /**
+     * Returns a new {@link MatchesFunction.Supplier} that supplies a {@link MatchesFunction} matcher using
+     * the given function.
+     */
+    public <R> MatchesFunction.Supplier<T,R> valueOf( String functionName, Function<T,R> function)
+      {
+      return new MatchesFunction.Supplier<>( functionName, function);
+      }
+
+    /**
+     * Changes this plan to apply its Matchers in an adaptive order, based on the cost and failure rate observed
+     * for all instances of the matcher class that uses it.
+     */
+    public Builder<T> adaptive()
+      {
+      adaptive = true;
+      return this;
+      }
+
+    /**
+     * Changes this plan to remember the result of each match made by the matcher class that uses it, so that
+     * the same pair of objects is compared only once during any single match.
+     *
+     * @see BaseCompositeMatcher#memoized
+     */
+    public Builder<T> memoized()
+      {
+      memoized = true;
+      return this;
+      }
+
+    /**
+     * Returns the {@link CompositePlan} built.
+     */
+    public CompositePlan<T> build()
+      {
+      return new CompositePlan<T>( matcherSuppliers, adaptive, memoized);
+      }
+    }
+
+  /**
+   * Creates a new CompositePlan instance.
+   */
+  private CompositePlan( List<Function<T,Matcher<? super T>>> matcherSuppliers, boolean adaptive, boolean memoized)
+    {
+    this.matcherSuppliers = Collections.unmodifiableList( new ArrayList<Function<T,Matcher<? super T>>>( matcherSuppliers));
+    this.adaptive = adaptive;
+    this.memoized = memoized;
+    }
+
+  /**
+   * Returns the suppliers of the Matchers applied to a matched object, in order.
+   */
+  List<Function<T,Matcher<? super T>>> getMatcherSuppliers()
+    {
+    return matcherSuppliers;
+    }
+
+  /**
+   * Returns if Matchers are applied in an adaptive order.
+   */
+  boolean isAdaptive()
+    {
+    return adaptive;
+    }
+
+  /**
+   * Returns if match results are remembered.
+   */
+  boolean isMemoized()
+    {
+    return memoized;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[%s matchers]", getClass().getSimpleName(), matcherSuppliers.size());
+    }
+  }
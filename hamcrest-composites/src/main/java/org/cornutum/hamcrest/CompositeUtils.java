@@ -0,0 +1,198 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+/**
+ * Defines support methods for composite matchers.
+ */
+public final class CompositeUtils
+  {
+  /**
+   * The maximum number of members listed in a mismatch description.
+   */
+  public static final int MAX_LISTED_MEMBERS = 100;
+
+  /**
+   * The maximum length of a member listed in a mismatch description.
+   */
+  public static final int MAX_LISTED_LENGTH = 200;
+
+  /**
+   * Creates a new CompositeUtils instance.
+   */
+  private CompositeUtils()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Returns a Stream that traverses the members of the given Iterable.
+   */
+  public static <T> Stream<T> streamFor( Iterable<T> iterable)
+    {
+    return StreamSupport.stream( iterable.spliterator(), false);
+    }
+
+  /**
+   * Returns an array that contains the members of the given Iterable.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T[] toArray( Iterable<T> iterable)
+    {
+    return (T[]) streamFor( iterable).toArray();
+    }
+
+  /**
+   * Returns a description of the mismatch reported by the given Matcher for the given object.
+   */
+  public static String mismatchFor( Matcher<?> matcher, Object object)
+    {
+    Description description = new StringDescription();
+    matcher.describeMismatch( object, description);
+    return description.toString();
+    }
+
+  /**
+   * Returns a description of the given Matcher.
+   */
+  public static String descriptionOf( Matcher<?> matcher)
+    {
+    Description description = new StringDescription();
+    matcher.describeTo( description);
+    return description.toString();
+    }
+
+  /**
+   * Returns a comma-separated list of the given members, as listed in a mismatch description.
+   */
+  public static <T> String membersToString( List<T> members)
+    {
+    return membersToString( members, members.size(), MAX_LISTED_MEMBERS, m -> m);
+    }
+
+  /**
+   * Returns a comma-separated list of the given members, which are the first of the given number of members.
+   * At most <CODE>maxListed</CODE> members are listed, each represented by the given label and truncated to
+   * {@link #MAX_LISTED_LENGTH} characters. Any remaining members are counted as "... and N more".
+   * <P/>
+   * A label that is a <CODE>CharSequence</CODE>, or a Collection or Map that uses the standard <CODE>toString()</CODE>,
+   * is rendered only up to the maximum length. For any other label, <CODE>toString()</CODE> must still build the
+   * full string before it is truncated.
+   */
+  public static <T> String membersToString( List<T> members, int count, int maxListed, Function<? super T,?> labelOf)
+    {
+    StringBuilder list = new StringBuilder();
+    int listed = Math.min( maxListed, members.size());
+    for( int i = 0; i < listed; i++)
+      {
+      if( i > 0)
+        {
+        list.append( ", ");
+        }
+
+      int end = list.length() + MAX_LISTED_LENGTH;
+      if( !appendBounded( list, labelOf.apply( members.get(i)), end) || list.length() > end)
+        {
+        list.setLength( end);
+        list.append( "...");
+        }
+      }
+
+    if( count > listed)
+      {
+      list
+        .append( listed > 0? ", " : "")
+        .append( "... and ")
+        .append( count - listed)
+        .append( " more");
+      }
+    
+    return list.toString();
+    }
+
+  /**
+   * Appends the string representation of the given object to the given builder, stopping once the builder
+   * reaches the given length. Returns false if the representation was not completely appended.
+   */
+  private static boolean appendBounded( StringBuilder builder, Object object, int end)
+    {
+    boolean complete;
+    if( object instanceof CharSequence)
+      {
+      CharSequence chars = (CharSequence) object;
+      int length = Math.max( 0, Math.min( chars.length(), end - builder.length()));
+      builder.append( chars, 0, length);
+      complete = length == chars.length();
+      }
+    else if( object instanceof Collection && inheritsToString( object, AbstractCollection.class))
+      {
+      builder.append( '[');
+      complete = true;
+      for( Iterator<?> elements = ((Collection<?>) object).iterator(); complete && elements.hasNext(); )
+        {
+        Object element = elements.next();
+        complete =
+          builder.length() < end
+          && appendBounded( builder, element == object? "(this Collection)" : element, end)
+          && (!elements.hasNext() || builder.append( ", ").length() < end);
+        }
+      complete = complete && builder.append( ']').length() <= end;
+      }
+    else if( object instanceof Map && inheritsToString( object, AbstractMap.class))
+      {
+      builder.append( '{');
+      complete = true;
+      for( Iterator<? extends Map.Entry<?,?>> entries = ((Map<?,?>) object).entrySet().iterator(); complete && entries.hasNext(); )
+        {
+        Map.Entry<?,?> entry = entries.next();
+        complete =
+          builder.length() < end
+          && appendBounded( builder, entry.getKey() == object? "(this Map)" : entry.getKey(), end)
+          && builder.append( '=').length() < end
+          && appendBounded( builder, entry.getValue() == object? "(this Map)" : entry.getValue(), end)
+          && (!entries.hasNext() || builder.append( ", ").length() < end);
+        }
+      complete = complete && builder.append( '}').length() <= end;
+      }
+    else
+      {
+      complete = appendBounded( builder, String.valueOf( object), end);
+      }
+
+    return complete;
+    }
+
+  /**
+   * Returns if the given object uses the <CODE>toString()</CODE> method defined by the given class.
+   */
+  private static boolean inheritsToString( Object object, Class<?> definingClass)
+    {
+    try
+      {
+      return object.getClass().getMethod( "toString").getDeclaringClass() == definingClass;
+      }
+    catch( NoSuchMethodException e)
+      {
+      return false;
+      }
+    }
+  }
@@ -10,6 +10,7 @@ package org.cornutum.hamcrest;
 import static org.cornutum.hamcrest.CompositeUtils.*;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,17 @@ public final class Composites
     return new ContainsMembers<T>( expected, memberMatcherSupplier);
     }
 
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order, with
+   * an additional match condition: each member of a matched Iterable must satisfy the Matcher returned 
+   * by the given supplier for its counterpart in the given expected Iterable. Instead of using <CODE>equals</CODE>,
+   * members are paired using the <CODE>equals</CODE>-matching keys derived by the given key function.
+   */
+  public static <T,K> Matcher<Iterable<T>> containsMembers( Function<T,K> memberKey, Function<T,Matcher<T>> memberMatcherSupplier, Iterable<? extends T> expected)
+    {
+    return new ContainsMembers<T>( null, memberKey, expected, memberMatcherSupplier);
+    }
+
   /**
    * Returns a Matcher for an Iterable containing the given collection of members in any order.
    */
@@ -89,6 +101,25 @@ public final class Composites
     return containsMembers( memberMatcherSupplier, iterable);
     }
 
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order. Instead of
+   * comparing member hash codes, members are paired by sorting both collections in the given order.
+   */
+  public static <T> Matcher<Iterable<T>> containsMembersOrdered( Comparator<? super T> memberOrder, Iterable<? extends T> expected)
+    {
+    return new ContainsMembers<T>( null, expected, memberOrder, null);
+    }
+
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order. Instead of
+   * comparing member hash codes, members are paired by sorting both collections in the given order.
+   */
+  @SafeVarargs
+  public static <T> Matcher<Iterable<T>> containsMembersOrdered( Comparator<? super T> memberOrder, T... expected)
+    {
+    return containsMembersOrdered( memberOrder, Arrays.asList( expected));
+    }
+
   /**
    * Returns a Matcher for an array containing the given collection of elements in any order.
    */
@@ -145,6 +176,25 @@ public final class Composites
     return new ContainsElements<T>( toArray( () -> expected), elementMatcherSupplier);
     }
 
+  /**
+   * Returns a Matcher for an array containing the given collection of elements in any order. Instead of
+   * comparing element hash codes, elements are paired by sorting both arrays in the given order.
+   */
+  @SafeVarargs
+  public static <T> Matcher<T[]> containsElementsOrdered( Comparator<? super T> elementOrder, T... expected)
+    {
+    return new ContainsElements<T>( expected, elementOrder, null);
+    }
+
+  /**
+   * Returns a Matcher for an array containing the given collection of elements in any order. Instead of
+   * comparing element hash codes, elements are paired by sorting both collections in the given order.
+   */
+  public static <T> Matcher<T[]> containsElementsOrdered( Comparator<? super T> elementOrder, Iterable<? extends T> expected)
+    {
+    return new ContainsElements<T>( toArray( expected), elementOrder, null);
+    }
+
   /**
    * Returns a Matcher for an Iterator that visits the given collection of members in any order.
    */
@@ -407,6 +457,48 @@ public final class Composites
     return listsMatching( memberMatcherSupplier, iterable);
     }
 
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order.
+   * Each member of a matched Iterable must satisfy the Matcher returned by the given supplier
+   * for a different member of the given expected Iterable.
+   */
+  public static <T> Matcher<Iterable<T>> containsMatching( Function<T,Matcher<T>> memberMatcherSupplier, Iterable<? extends T> expected)
+    {
+    return new ContainsMatching<T>( expected, memberMatcherSupplier);
+    }
+
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order.
+   * Each member of a matched Iterable must satisfy the Matcher returned by the given supplier
+   * for a different member of the given expected Iterable.
+   */
+  @SafeVarargs
+  public static <T> Matcher<Iterable<T>> containsMatching( Function<T,Matcher<T>> memberMatcherSupplier, T... expected)
+    {
+    return containsMatching( memberMatcherSupplier, Arrays.asList( expected));
+    }
+
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order.
+   * Each member of a matched Iterable must satisfy the Matcher returned by the given supplier
+   * for a different member of the given expected Iterable.
+   */
+  public static <T> Matcher<Iterable<T>> containsMatching( Function<T,Matcher<T>> memberMatcherSupplier, Iterator<T> expected)
+    {
+    Iterable<T> iterable = () -> expected;
+    return containsMatching( memberMatcherSupplier, iterable);
+    }
+
+  /**
+   * Returns a Matcher for an Iterable containing the given collection of members in any order.
+   * Each member of a matched Iterable must satisfy the Matcher returned by the given supplier
+   * for a different member of the given expected Iterable that belongs to the same member bucket.
+   */
+  public static <T,B> Matcher<Iterable<T>> containsMatching( Function<T,B> memberBucket, Function<T,Matcher<T>> memberMatcherSupplier, Iterable<? extends T> expected)
+    {
+    return new ContainsMatching<T>( expected, memberBucket, memberMatcherSupplier);
+    }
+
   /**
    * Returns a Matcher for the expected Map.
    */
@@ -441,6 +533,24 @@ public final class Composites
     return new MatchesFunction<T,R>( functionName, function, source, resultMatcherSupplier);
     }
 
+  /**
+   * Returns a supplier of a Matcher that compares all bean properties of an object of the given class.
+   * See {@link DeepMatcher} for details.
+   */
+  public static <T> Function<T,Matcher<T>> deepMatcherFor( Class<T> type)
+    {
+    return expected -> new DeepMatcher<T>( type, expected);
+    }
+
+  /**
+   * Returns a {@link PreparedMatcher} that applies the given Matcher to many actual objects, deriving everything
+   * it needs from its expected object only once.
+   */
+  public static <T> PreparedMatcher<T> prepare( Matcher<T> matcher)
+    {
+    return new PreparedMatcher<T>( matcher);
+    }
+
   /**
    * To create a more expressive reference, especially for a constructor expression, simply returns the given Matcher value.
    */
@@ -12,6 +12,7 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.function.Function;
 
 
@@ -23,7 +24,7 @@ import java.util.function.Function;
  * given supplier function.  Then each element of a matched array must satisfy the element-specific
  * Matcher returned for its <CODE>equals</CODE>-matching counterpart in the given expected array.
  */
-public class ContainsElements<T> extends BaseMatcher<T[]>
+public class ContainsElements<T> extends BaseMatcher<T[]> implements Preparable
   {
   private final ContainsMembers<T> containsMembers;
   
@@ -66,9 +67,29 @@ public class ContainsElements<T> extends BaseMatcher<T[]>
    * counterpart in the given expected array.
    */
   public ContainsElements( T[] expected, Function<T,Matcher<T>> elementMatcherSupplier)
+    {
+    this( expected, null, elementMatcherSupplier);
+    }
+ 
+  /**
+   * Creates a new ContainsElements instance that pairs actual and expected elements by sorting both in the given order,
+   * instead of by comparing element hash codes. If the given element Matcher supplier is non-null, each element of a
+   * matched array must also satisfy the Matcher returned for its counterpart in the given expected array.
+   */
+  public ContainsElements( T[] expected, Comparator<? super T> elementOrder, Function<T,Matcher<T>> elementMatcherSupplier)
     {
     Iterable<T> members = expected == null? null : Arrays.asList( expected);
-    containsMembers = new ContainsMembers<T>( members, elementMatcherSupplier);
+    containsMembers = new ContainsMembers<T>( null, members, elementOrder, elementMatcherSupplier);
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    containsMembers.prepare();
     }
 
   public boolean matches( Object actual)
@@ -0,0 +1,534 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2022, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Matches a Map containing a specified collection of entries.
+ * <P/>
+ * Optionally, given a "entry Matcher supplier" function, applies additional detailed match conditions for
+ * each Map entry.  First, for each entry of the expected Map, an entry-specific Matcher is derived by the
+ * given supplier function.  Then each entry of a matched Map must satisfy the entry-specific
+ * Matcher returned for its <CODE>equals</CODE>-matching counterpart in the given expected Map.
+ * <P/>
+ * Entries are paired by looking up the key of each matched entry among the expected entries, so the cost of a match
+ * grows linearly with the size of the Map. If both the expected Map and the matched Map are <CODE>SortedMap</CODE>s
+ * with the same key order, entries are paired instead by walking both maps together in key order, and any mismatch is
+ * reported with its position in key order. Either way, paired keys must be <CODE>equals</CODE>, whatever key
+ * semantics the matched Map uses.
+ */
+public class ContainsEntries<K,V> extends BaseMatcher<Map<K,V>> implements Preparable
+  {
+  private final Map<K,Map.Entry<K,V>> expectedEntries;
+  private final Function<Map.Entry<K,V>,Matcher<Map.Entry<K,V>>> entryMatcherSupplier;
+  private final Comparator<? super K> expectedOrder;
+  private boolean fingerprinted;
+  private volatile MemberFingerprint expectedFingerprint;
+  private volatile Map<Object,Matcher<Map.Entry<K,V>>> preparedMatchers;
+  private final PerThread<EntriesMatcher> entriesMatcher = new PerThread<EntriesMatcher>();
+
+  private static final Object NULL_KEY = new Object();
+
+  /**
+   * Builds and supplies a {@link ContainsEntries} matcher for a specified source Map.
+   */
+  public static class Supplier<K,V> implements Function<Map<K,V>,Matcher<Map<K,V>>>
+    {
+    private Function<Map.Entry<K,V>,Matcher<Map.Entry<K,V>>> entryMatcherSupplier;
+    
+    /**
+     * Creates a new Supplier that supplies a {@link ContainsEntries} matcher that
+     * matches entries using the given value Matcher supplier.
+     */
+    public Supplier( Function<V,Matcher<V>> valueMatcherSupplier)
+      {
+      entryMatcherSupplier = new MapEntryMatcher.Supplier<K,V>( valueMatcherSupplier);
+      }
+    
+    /**
+     * Creates a new Supplier that supplies a {@link ContainsEntries} matcher that
+     * matches entries using the given key and value Matcher suppliers.
+     */
+    public Supplier( Function<K,Matcher<K>> keyMatcherSupplier, Function<V,Matcher<V>> valueMatcherSupplier)
+      {
+      entryMatcherSupplier = new MapEntryMatcher.Supplier<K,V>( keyMatcherSupplier, valueMatcherSupplier);
+      }
+
+    /**
+     * Returns the {@link ContainsEntries} matcher supplied for the given source Map.
+     */
+    public Matcher<Map<K,V>> apply( Map<K, V> source)
+      {
+      return (Matcher<Map<K,V>>) new ContainsEntries<K,V>( source, entryMatcherSupplier);
+      }
+    }
+ 
+  /**
+   * Matches an actual Map with the expected entries.
+   */
+  private class EntriesMatcher
+    {
+    private final Object matched;
+    private Map<K,V> actualMap;
+    private boolean diagnosed;
+    private String mapMismatch;
+    private String entriesMismatch;
+    private Matcher<Map.Entry<K,V>> entryMatcher;
+    private Map.Entry<K,V> entryMismatch;
+    private final boolean knownMismatch;
+
+    /**
+     * Creates a new EntriesMatcher instance.
+     */
+    @SuppressWarnings("unchecked")
+    public EntriesMatcher( Object actual)
+      {
+      matched = actual;
+      boolean fingerprintMismatch = false;
+
+      // Expected and actual objects have the same "nullity"?
+      if( (expectedEntries == null) != (actual == null))
+        {
+        mapMismatch = 
+          expectedEntries == null
+          ? "was not null"
+          : "was null";
+        }
+      else if( actual != null)
+        {
+        // Comparing to an actual Map?
+        actualMap =
+          Map.class.isInstance( actual)
+          ? (Map<K,V>) actual
+          : null;
+
+        if( actualMap == null)
+          {
+          mapMismatch = "was not a Map";
+          }
+        else if( fingerprinted && !getExpectedFingerprint().equals( MemberFingerprint.of( actualMap.entrySet(), null)))
+          {
+          // Entries differ. Find which ones only when the mismatch is described.
+          fingerprintMismatch = true;
+          }
+        else
+          {
+          diagnose();
+          }
+        }
+
+      knownMismatch = fingerprintMismatch;
+      }
+
+    /**
+     * Returns the matching result.
+     */
+    public boolean matches()
+      {
+      return !knownMismatch && mapMismatch == null && entriesMismatch == null && entryMismatch == null;
+      }
+
+    /**
+     * Returns the object matched by this EntriesMatcher.
+     */
+    public Object getMatched()
+      {
+      return matched;
+      }
+
+    /**
+     * Returns a description of the expected Map.
+     */
+    public String getExpectedDescription()
+      {
+      if( actualMap != null && !diagnosed)
+        {
+        diagnose();
+        }
+
+      return
+        entryMismatch != null?
+        "Map entry set containing " + descriptionOf( entryMatcher) :
+
+        entriesMismatch != null?
+        "Map entry set with " + expectedEntries.size() + " members" :
+
+        "Map with " + expectedEntries.size() + " entries";
+      }
+
+    /**
+     * Returns a description of any mismatch between the expected Map and the {@link #getMatched matched} object.
+     */
+    public Optional<String> getMapMismatch()
+      {
+      if( actualMap != null && !diagnosed)
+        {
+        diagnose();
+        }
+
+      return
+        Optional.ofNullable(
+          mapMismatch != null?
+          mapMismatch :
+
+          entriesMismatch != null?
+          entriesMismatch :
+
+          entryMismatch != null?
+          mismatchFor( entryMatcher, entryMismatch) :
+
+          null);
+      }
+
+    /**
+     * Finds any mismatch between the expected entries and the entries of the actual Map.
+     */
+    private void diagnose()
+      {
+      diagnosed = true;
+
+      if( expectedOrder != null
+          && actualMap instanceof SortedMap
+          && expectedOrder.equals( orderOf( (SortedMap<K,V>) actualMap)))
+        {
+        diagnoseMerged();
+        }
+      else
+        {
+        diagnoseHashed();
+        }
+      }
+
+    /**
+     * Finds any mismatch by looking up the key of each actual entry among the expected entries. Keys are paired only
+     * when <CODE>equals</CODE>, whatever key semantics the actual Map uses.
+     */
+    private void diagnoseHashed()
+      {
+      // Is each actual key paired with an unpaired expected key mapped to an equal value?
+      Map<K,Map.Entry<K,V>> unpaired = new LinkedHashMap<K,Map.Entry<K,V>>( expectedEntries);
+      List<Map.Entry<K,V>> unexpected = new ArrayList<>();
+      for( Map.Entry<K,V> actualEntry : actualMap.entrySet())
+        {
+        Map.Entry<K,V> expectedEntry = unpaired.get( actualEntry.getKey());
+        if( expectedEntry != null && Objects.equals( actualEntry.getValue(), expectedEntry.getValue()))
+          {
+          unpaired.remove( actualEntry.getKey());
+          }
+        else
+          {
+          unexpected.add( actualEntry);
+          }
+        }
+
+      // Any expected entries left unpaired are missing.
+      setEntriesMismatch( new ArrayList<>( unpaired.values()), "", unexpected, "");
+
+      if( entriesMismatch == null && entryMatcherSupplier != null)
+        {
+        // Does each actual entry satisfy the specified entry Matcher for its expected counterpart?
+        for( Map.Entry<K,V> actualEntry : actualMap.entrySet())
+          {
+          if( !matchesEntry( expectedEntries.get( actualEntry.getKey()), actualEntry))
+            {
+            break;
+            }
+          }
+        }
+      }
+
+    /**
+     * Finds any mismatch by walking the expected entries and the entries of the actual SortedMap together in key order.
+     */
+    private void diagnoseMerged()
+      {
+      List<Map.Entry<K,V>> missing = new ArrayList<>();
+      List<Map.Entry<K,V>> unexpected = new ArrayList<>();
+      int firstMissing = -1;
+      int firstUnexpected = -1;
+      boolean matching = entryMatcherSupplier != null;
+
+      Iterator<Map.Entry<K,V>> expectedIterator = expectedEntries.values().iterator();
+      Iterator<Map.Entry<K,V>> actualIterator = actualMap.entrySet().iterator();
+      Map.Entry<K,V> expectedEntry = nextEntry( expectedIterator);
+      Map.Entry<K,V> actualEntry = nextEntry( actualIterator);
+      for( int expectedPosition = 0, actualPosition = 0; expectedEntry != null || actualEntry != null; )
+        {
+        int compared =
+          expectedEntry == null? 1 :
+          actualEntry == null? -1 :
+          expectedOrder.compare( expectedEntry.getKey(), actualEntry.getKey());
+
+        boolean isMissing =
+          compared < 0
+          || (compared == 0
+              && !(Objects.equals( expectedEntry.getKey(), actualEntry.getKey())
+                   && Objects.equals( expectedEntry.getValue(), actualEntry.getValue())));
+        boolean isUnexpected = compared > 0 || (compared == 0 && isMissing);
+
+        if( isMissing)
+          {
+          missing.add( expectedEntry);
+          firstMissing = firstMissing < 0? expectedPosition : firstMissing;
+          }
+        if( isUnexpected)
+          {
+          unexpected.add( actualEntry);
+          firstUnexpected = firstUnexpected < 0? actualPosition : firstUnexpected;
+          }
+        if( !isMissing && !isUnexpected && matching)
+          {
+          // Does this actual entry satisfy the specified entry Matcher for its expected counterpart?
+          matching = matchesEntry( expectedEntry, actualEntry);
+          }
+
+        if( compared <= 0)
+          {
+          expectedEntry = nextEntry( expectedIterator);
+          expectedPosition++;
+          }
+        if( compared >= 0)
+          {
+          actualEntry = nextEntry( actualIterator);
+          actualPosition++;
+          }
+        }
+
+      setEntriesMismatch(
+        missing, " starting at position=" + firstMissing,
+        unexpected, " starting at position=" + firstUnexpected);
+
+      // Any entry mismatch is relevant only if all actual entries are "equals" matches for expected entries.
+      if( entriesMismatch != null)
+        {
+        entryMatcher = null;
+        entryMismatch = null;
+        }
+      }
+
+    /**
+     * Describes any missing or unexpected entries.
+     */
+    private void setEntriesMismatch( List<Map.Entry<K,V>> missing, String missingPosition, List<Map.Entry<K,V>> unexpected, String unexpectedPosition)
+      {
+      if( !missing.isEmpty())
+        {
+        entriesMismatch =
+          "was missing "
+          + missing.size()
+          + " members=["
+          + membersToString( missing)
+          + "]"
+          + missingPosition;
+        }
+
+      if( !unexpected.isEmpty())
+        {
+        entriesMismatch =
+          (entriesMismatch == null? "" : (entriesMismatch + "\n     and: "))
+          + "had "
+          + unexpected.size()
+          + " unexpected members=["
+          + membersToString( unexpected)
+          + "]"
+          + unexpectedPosition;
+        }
+      }
+
+    /**
+     * Returns true if the given actual entry satisfies the entry Matcher for the given expected entry.
+     * Otherwise, records the entry mismatch and returns false.
+     */
+    private boolean matchesEntry( Map.Entry<K,V> expectedEntry, Map.Entry<K,V> actualEntry)
+      {
+      Matcher<Map.Entry<K,V>> matcher = getEntryMatcher( expectedEntry);
+      boolean matches = matcher.matches( actualEntry);
+      if( !matches)
+        {
+        entryMatcher = matcher;
+        entryMismatch = actualEntry;
+        }
+
+      return matches;
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), ContainsEntries.this.getClass().getSimpleName());
+      }
+    }
+
+  /**
+   * Creates a new ContainsEntries instance.
+   */
+  public ContainsEntries( Map<K,V> expected)
+    {
+    this( expected, null);
+    }
+ 
+  /**
+   * Creates a new ContainsEntries instance that adds an additional match condition: each entry of a
+   * matched Map must satisfy the Matcher returned by the given supplier for its <CODE>equals</CODE>-matching 
+   * counterpart in the given expected Map.
+   */
+  public ContainsEntries( Map<K,V> expected, Function<Map.Entry<K,V>,Matcher<Map.Entry<K,V>>> entryMatcherSupplier)
+    {
+    this.entryMatcherSupplier = entryMatcherSupplier;
+
+    expectedOrder =
+      expected instanceof SortedMap
+      ? orderOf( (SortedMap<K,V>) expected)
+      : null;
+
+    if( expected == null)
+      {
+      expectedEntries = null;
+      }
+    else
+      {
+      expectedEntries = new LinkedHashMap<K,Map.Entry<K,V>>();
+      for( Map.Entry<K,V> entry : expected.entrySet())
+        {
+        expectedEntries.put( entry.getKey(), entry);
+        }
+      }
+    }
+
+  /**
+   * Returns the Matcher for the given expected entry. Once this matcher is {@link #prepare prepared}, the Matcher
+   * supplied for each expected entry is kept and reused.
+   */
+  private Matcher<Map.Entry<K,V>> getEntryMatcher( Map.Entry<K,V> expectedEntry)
+    {
+    Map<Object,Matcher<Map.Entry<K,V>>> kept = preparedMatchers;
+    return
+      kept == null
+      ? entryMatcherSupplier.apply( expectedEntry)
+      : kept.computeIfAbsent(
+          expectedEntry.getKey() == null? NULL_KEY : expectedEntry.getKey(),
+          key -> Preparable.prepared( entryMatcherSupplier.apply( expectedEntry)));
+    }
+
+  /**
+   * Changes this matcher to compare the fingerprints of the expected and actual entry sets before pairing their entries.
+   *
+   * @see ContainsMembers#fingerprinted
+   */
+  public ContainsEntries<K,V> fingerprinted()
+    {
+    fingerprinted = true;
+    return this;
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects. The Matcher supplied for each expected entry is
+   * kept and reused for every match.
+   *
+   * @see PreparedMatcher
+   */
+  public synchronized void prepare()
+    {
+    if( preparedMatchers == null && expectedEntries != null && entryMatcherSupplier != null)
+      {
+      preparedMatchers = new ConcurrentHashMap<Object,Matcher<Map.Entry<K,V>>>();
+      }
+    }
+
+  public boolean matches( Object actual)
+    {
+    return getEntriesMatcher( actual).matches();
+    }
+
+  public void describeTo( Description description)
+    {
+    EntriesMatcher current = entriesMatcher.get();
+    description.appendText(
+      expectedEntries == null?
+      "null" :
+
+      current == null?
+      "Map with " + expectedEntries.size() + " entries" :
+
+      current.getExpectedDescription());
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    getEntriesMatcher( actual).getMapMismatch().ifPresent( mismatch -> description.appendText( mismatch));
+    }
+
+  /**
+   * Returns the next entry from the given Iterator, or null if no entries remain.
+   */
+  private static <K,V> Map.Entry<K,V> nextEntry( Iterator<Map.Entry<K,V>> entries)
+    {
+    return entries.hasNext()? entries.next() : null;
+    }
+
+  /**
+   * Returns the key order of the given SortedMap.
+   */
+  @SuppressWarnings("unchecked")
+  private static <K> Comparator<? super K> orderOf( SortedMap<K,?> map)
+    {
+    return
+      map.comparator() == null
+      ? (Comparator<? super K>) Comparator.naturalOrder()
+      : map.comparator();
+    }
+
+  /**
+   * Returns the fingerprint of the expected entries.
+   */
+  private MemberFingerprint getExpectedFingerprint()
+    {
+    if( expectedFingerprint == null)
+      {
+      expectedFingerprint = MemberFingerprint.of( expectedEntries.values(), null);
+      }
+
+    return expectedFingerprint;
+    }
+
+  /**
+   * Returns the EntriesMatcher for the given actual object, evaluated on the current thread.
+   */
+  private EntriesMatcher getEntriesMatcher( Object actual)
+    {
+    EntriesMatcher current = entriesMatcher.get();
+    if( current == null || current.getMatched() != actual)
+      {
+      current = new EntriesMatcher( actual);
+      entriesMatcher.set( current);
+      }
+
+    return current;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
@@ -0,0 +1,377 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Matches an Iterable containing a specified collection of members in any order.  The specified "member
+ * Matcher supplier" function defines the match conditions for Iterable members.
+ * <P/>
+ * First, for each member of the expected Iterable, a member-specific Matcher is derived by the
+ * given supplier function.  Then each member of a matched Iterable must be assigned to a different member
+ * of the expected Iterable, such that it satisfies the member-specific Matcher for its expected counterpart.
+ * The assignment is found by solving a maximum bipartite matching between expected and actual members.
+ * <P/>
+ * Unlike the {@link org.cornutum.hamcrest.ContainsMembers} matcher, this matcher does not compare members using <CODE>equals()</CODE>.
+ * But, without a "primary key", each expected member Matcher may need to be applied to every actual member. To avoid this,
+ * specify a "member bucket" function that returns the same value for any two members that could match. Then
+ * each expected member Matcher is applied only to actual members in the same bucket.
+ */
+public class ContainsMatching<T> extends BaseMatcher<Iterable<T>> implements Preparable
+  {
+  private final List<T> expectedMembers;
+  private final Function<? super T,?> memberBucket;
+  private final MemberMatchers<T> memberMatchers;
+  private final PerThread<MemberMatcher> memberMatcher = new PerThread<MemberMatcher>();
+
+  /**
+   * Builds and supplies a {@link ContainsMatching} matcher for a specified source Iterable.
+   */
+  public static class Supplier<T,S extends Iterable<T>> implements Function<S,Matcher<S>>
+    {
+    private Function<? super T,?> memberBucket;
+    private Function<T,Matcher<T>> memberMatcherSupplier;
+
+    /**
+     * Creates a new Supplier that supplies a {@link ContainsMatching} matcher using
+     * the given member Matcher supplier.
+     */
+    public Supplier( Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this( null, memberMatcherSupplier);
+      }
+
+    /**
+     * Creates a new Supplier that supplies a {@link ContainsMatching} matcher using
+     * the given member bucket function and member Matcher supplier.
+     */
+    public Supplier( Function<? super T,?> memberBucket, Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this.memberBucket = memberBucket;
+      this.memberMatcherSupplier = memberMatcherSupplier;
+      }
+
+    /**
+     * Returns the {@link ContainsMatching} matcher supplied for the given source Iterable.
+     */
+    @SuppressWarnings("unchecked")
+    public Matcher<S> apply( S source)
+      {
+      return (Matcher<S>) new ContainsMatching<T>( source, memberBucket, memberMatcherSupplier);
+      }
+    }
+
+  /**
+   * Matches an actual Iterable with the list of expected members.
+   */
+  private class MemberMatcher
+    {
+    private final Object matched;
+    private String iterableMismatch;
+
+    /**
+     * Creates a new MemberMatcher instance.
+     */
+    @SuppressWarnings("unchecked")
+    public MemberMatcher( Object actual)
+      {
+      matched = actual;
+      iterableMismatch = null;
+
+      // Expected and actual objects have the same "nullity"?
+      if( (expectedMembers == null) != (actual == null))
+        {
+        iterableMismatch =
+          expectedMembers == null
+          ? "was not null"
+          : "was null";
+        }
+      else if( actual != null)
+        {
+        // Comparing to an actual Iterable?
+        Iterable<T> actualIterable =
+          Iterable.class.isInstance( actual)?
+          (Iterable<T>) actual :
+
+          Iterator.class.isInstance( actual)?
+          () -> (Iterator<T>) actual :
+
+          actual.getClass().isArray() ?
+          Arrays.asList( (T[]) actual) :
+
+          null;
+
+        if( actualIterable == null)
+          {
+          iterableMismatch = "was not an Iterable";
+          }
+        else
+          {
+          // Must collect the actual members in advance to prepare for multiple matching traversals.
+          List<T> actualMembers = streamFor( actualIterable).collect( toList());
+
+          // Which actual members satisfy the Matcher for each expected member?
+          int[][] candidates = getCandidates( actualMembers);
+
+          // Can each expected member be assigned a different matching actual member?
+          int[] actualPositions = BipartiteMatching.maximumMatching( candidates, actualMembers.size());
+          boolean[] assigned = new boolean[ actualMembers.size()];
+          List<T> missing = new ArrayList<>();
+          List<T> unassigned = new ArrayList<>();
+
+          for( int i = 0; i < actualPositions.length; i++)
+            {
+            if( actualPositions[i] >= 0)
+              {
+              assigned[ actualPositions[i]] = true;
+              }
+            else if( candidates[i].length == 0)
+              {
+              missing.add( expectedMembers.get(i));
+              }
+            else
+              {
+              unassigned.add( expectedMembers.get(i));
+              }
+            }
+
+          List<T> unexpected =
+            IntStream.range( 0, assigned.length)
+            .filter( i -> !assigned[i])
+            .mapToObj( i -> actualMembers.get(i))
+            .collect( toList());
+
+          // Any expected members with no matching actual member?
+          if( !missing.isEmpty())
+            {
+            iterableMismatch =
+              "was missing "
+              + missing.size()
+              + " members=["
+              + toString( missing)
+              + "]";
+            }
+
+          // Any expected members matching only actual members assigned to others?
+          if( !unassigned.isEmpty())
+            {
+            iterableMismatch =
+              (iterableMismatch == null? "" : (iterableMismatch + "\n     and: "))
+              + "had no unique match for "
+              + unassigned.size()
+              + " members=["
+              + toString( unassigned)
+              + "]";
+            }
+
+          // Any actual members unexpected?
+          if( !unexpected.isEmpty())
+            {
+            iterableMismatch =
+              (iterableMismatch == null? "" : (iterableMismatch + "\n     and: "))
+              + "had "
+              + unexpected.size()
+              + " unexpected members=["
+              + toString( unexpected)
+              + "]";
+            }
+          }
+        }
+      }
+
+    /**
+     * Returns the matching result.
+     */
+    public boolean matches()
+      {
+      return !getIterableMismatch().isPresent();
+      }
+
+    /**
+     * Returns the object matched by this MemberMatcher.
+     */
+    public Object getMatched()
+      {
+      return matched;
+      }
+
+    /**
+     * Returns a description of any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    public Optional<String> getIterableMismatch()
+      {
+      return Optional.ofNullable( iterableMismatch);
+      }
+
+    /**
+     * For each expected member, returns the positions of the actual members that satisfy its member Matcher.
+     */
+    private int[][] getCandidates( List<T> actualMembers)
+      {
+      Map<Object,int[]> actualBuckets = getBuckets( actualMembers);
+
+      int[][] candidates = new int[ expectedMembers.size()][];
+      int[] matching = new int[ actualMembers.size()];
+      for( int i = 0; i < candidates.length; i++)
+        {
+        T expectedMember = expectedMembers.get(i);
+        Matcher<T> matcher = memberMatchers.get(i);
+
+        int[] bucket =
+          actualBuckets == null
+          ? null
+          : actualBuckets.getOrDefault( memberBucket.apply( expectedMember), new int[0]);
+
+        int bucketSize = bucket == null? actualMembers.size() : bucket.length;
+        int matchingCount = 0;
+        for( int j = 0; j < bucketSize; j++)
+          {
+          int actualPosition = bucket == null? j : bucket[j];
+          if( matcher.matches( actualMembers.get( actualPosition)))
+            {
+            matching[ matchingCount++] = actualPosition;
+            }
+          }
+
+        candidates[i] = Arrays.copyOf( matching, matchingCount);
+        }
+
+      return candidates;
+      }
+
+    /**
+     * If a member bucket function is defined, returns the positions of the given members, grouped by bucket.
+     * Otherwise, returns null.
+     */
+    private Map<Object,int[]> getBuckets( List<T> members)
+      {
+      Map<Object,int[]> buckets = null;
+      if( memberBucket != null)
+        {
+        Map<Object,List<Integer>> positions = new HashMap<Object,List<Integer>>();
+        for( int i = 0; i < members.size(); i++)
+          {
+          positions.computeIfAbsent( memberBucket.apply( members.get(i)), bucket -> new ArrayList<Integer>()).add( i);
+          }
+
+        buckets = new HashMap<Object,int[]>();
+        for( Map.Entry<Object,List<Integer>> bucket : positions.entrySet())
+          {
+          buckets.put( bucket.getKey(), bucket.getValue().stream().mapToInt( Integer::intValue).toArray());
+          }
+        }
+
+      return buckets;
+      }
+
+    /**
+     * Returns a string representing the given list.
+     */
+    private String toString( List<?> members)
+      {
+      return membersToString( members);
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), ContainsMatching.this.getClass().getSimpleName());
+      }
+    }
+
+  /**
+   * Creates a new ContainsMatching instance. Each member of a matched Iterable must satisfy the
+   * Matcher returned by the given supplier for a different member of the given expected Iterable.
+   */
+  public ContainsMatching( Iterable<? extends T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this( expected, null, memberMatcherSupplier);
+    }
+
+  /**
+   * Creates a new ContainsMatching instance. Each member of a matched Iterable must satisfy the
+   * Matcher returned by the given supplier for a different member of the given expected Iterable.
+   * If the given member bucket function is non-null, an actual member can match an expected member only
+   * if both belong to the same bucket.
+   */
+  public ContainsMatching( Iterable<? extends T> expected, Function<? super T,?> memberBucket, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this.memberBucket = memberBucket;
+
+    expectedMembers =
+      expected == null
+      ? null
+      : streamFor( expected).collect( toList());
+
+    memberMatchers = new MemberMatchers<T>( expectedMembers, memberMatcherSupplier);
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects. The Matcher supplied for each expected member is
+   * kept and reused for every match.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    memberMatchers.prepare();
+    }
+
+  public boolean matches( Object actual)
+    {
+    return getMemberMatcher( actual).matches();
+    }
+
+  public void describeTo( Description description)
+    {
+    description.appendText(
+      expectedMembers == null
+      ? "null"
+      : "Iterable with " + expectedMembers.size() + " matching members");
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    getMemberMatcher( actual).getIterableMismatch().ifPresent( mismatch -> description.appendText( mismatch));
+    }
+
+  /**
+   * Returns the MemberMatcher for the given actual object, evaluated on the current thread.
+   */
+  private MemberMatcher getMemberMatcher( Object actual)
+    {
+    MemberMatcher current = memberMatcher.get();
+    if( current == null || current.getMatched() != actual)
+      {
+      current = new MemberMatcher( actual);
+      memberMatcher.set( current);
+      }
+
+    return current;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
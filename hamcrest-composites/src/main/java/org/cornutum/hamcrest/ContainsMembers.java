@@ -0,0 +1,751 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+
+/**
+ * Matches an Iterable containing a specified collection of members in any order.
+ * <P/>
+ * Optionally, given a "member Matcher supplier" function, applies additional detailed match conditions for
+ * Iterable members.  First, for each member of the expected Iterable, a member-specific Matcher is derived by the
+ * given supplier function.  Then each member of a matched Iterable must satisfy the member-specific
+ * Matcher returned for its <CODE>equals</CODE>-matching counterpart in the given expected Iterable.
+ */
+public class ContainsMembers<T> extends BaseMatcher<Iterable<T>> implements Preparable
+  {
+  private final String iterableDescription;
+  private final List<T> expectedMembers;
+  private final Function<T,Matcher<T>> memberMatcherSupplier;
+  private final MemberMatchers<T> memberMatchers;
+  private final Comparator<? super T> memberOrder;
+  private final Function<? super T,?> memberKey;
+  private int streamingLimit = -1;
+  private int reportLimit = -1;
+  private boolean fingerprinted;
+  private ForkJoinPool parallelPool;
+  private volatile MemberFingerprint expectedFingerprint;
+  private volatile MemberIndex<T> expectedIndex;
+  private final PerThread<MemberMatcher> memberMatcher = new PerThread<MemberMatcher>();
+
+  /**
+   * Represents the match between a member of a matched Iterable and its counterpart in the expected Iterable.
+   */
+  private class MemberMatch
+    {
+    private final T actualMember;
+    private final Matcher<T> matcher;
+    
+    /**
+     * Creates a new MemberMatch instance.
+     */
+    public MemberMatch( T actualMember, Matcher<T> matcher)
+      {
+      this.actualMember = actualMember;
+      this.matcher = matcher;
+      }
+
+    public T getActualMember()
+      {
+      return actualMember;
+      }
+
+    public Matcher<T> getMatcher()
+      {
+      return matcher;
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[actual=%s, matcher=%s]", getClass().getSimpleName(), actualMember, matcher);
+      }
+    }
+
+  /**
+   * Builds and supplies a {@link ContainsMembers} matcher for a specified source Iterable.
+   */
+  public static class Supplier<T,S extends Iterable<T>> implements Function<S,Matcher<S>>
+    {
+    private Function<? super T,?> memberKey;
+    private Function<T,Matcher<T>> memberMatcherSupplier;
+    private int streamingLimit = -1;
+    private int reportLimit = -1;
+    private boolean fingerprinted;
+    private ForkJoinPool parallelPool;
+    
+    /**
+     * Creates a new Supplier that supplies a {@link ContainsMembers} matcher using
+     * the given member Matcher supplier.
+     */
+    public Supplier( Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this( null, memberMatcherSupplier);
+      }
+    
+    /**
+     * Creates a new Supplier that supplies a {@link ContainsMembers} matcher that pairs members
+     * using the given key function and then matches them using the given member Matcher supplier.
+     */
+    public Supplier( Function<? super T,?> memberKey, Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this.memberKey = memberKey;
+      this.memberMatcherSupplier = memberMatcherSupplier;
+      }
+
+    /**
+     * Changes the supplied {@link ContainsMembers} matcher to visit the members of a matched Iterable in a single pass.
+     *
+     * @see ContainsMembers#streaming
+     */
+    public Supplier<T,S> streaming( int maxUnexpected)
+      {
+      streamingLimit = maxUnexpected;
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ContainsMembers} matcher to fail fast when a matched Collection has a different size.
+     *
+     * @see ContainsMembers#failFast
+     */
+    public Supplier<T,S> failFast( int maxReported)
+      {
+      reportLimit = FailFast.reportLimit( maxReported);
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ContainsMembers} matcher to compare collection fingerprints before pairing members.
+     *
+     * @see ContainsMembers#fingerprinted
+     */
+    public Supplier<T,S> fingerprinted()
+      {
+      fingerprinted = true;
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ContainsMembers} matcher to apply member Matchers in parallel, using the given pool.
+     *
+     * @see ContainsMembers#parallel(ForkJoinPool)
+     */
+    public Supplier<T,S> parallel( ForkJoinPool pool)
+      {
+      parallelPool = pool;
+      return this;
+      }
+
+    /**
+     * Returns the {@link ContainsMembers} matcher supplied for the given source Iterable.
+     */
+    @SuppressWarnings("unchecked")
+    public Matcher<S> apply( S source)
+      {
+      ContainsMembers<T> matcher = new ContainsMembers<T>( null, memberKey, source, memberMatcherSupplier);
+      if( streamingLimit >= 0)
+        {
+        matcher.streaming( streamingLimit);
+        }
+      if( reportLimit >= 0)
+        {
+        matcher.failFast( reportLimit);
+        }
+      if( fingerprinted)
+        {
+        matcher.fingerprinted();
+        }
+      if( parallelPool != null)
+        {
+        matcher.parallel( parallelPool);
+        }
+      
+      return (Matcher<S>) matcher;
+      }
+    }
+
+  /**
+   * Matches an actual Iterable with the list of expected members.
+   */
+  private class MemberMatcher
+    {
+    private final Object matched;
+    private final boolean knownMismatch;
+    private boolean diagnosed;
+    private String iterableMismatch;
+    private MemberMatch memberMismatch;
+    
+    /**
+     * Creates a new MemberMatcher instance.
+     */
+    public MemberMatcher( Object actual)
+      {
+      matched = actual;
+      iterableMismatch = null;
+      memberMismatch = null;
+
+      // When a mismatch is already known, it is diagnosed only when it is described.
+      knownMismatch = FailFast.isSizeMismatch( reportLimit, expectedMembers, actual) || isFingerprintMismatch( actual);
+      if( !knownMismatch)
+        {
+        diagnose();
+        }
+      }
+
+    /**
+     * When comparing fingerprints, returns true if the given actual object is a Collection with a different
+     * fingerprint than the expected Iterable.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isFingerprintMismatch( Object actual)
+      {
+      return
+        fingerprinted
+        && memberOrder == null
+        && expectedMembers != null
+        && actual instanceof Collection
+        && !getExpectedFingerprint().equals( MemberFingerprint.of( (Collection<T>) actual, memberKey));
+      }
+
+    /**
+     * Finds any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    @SuppressWarnings("unchecked")
+    private void diagnose()
+      {
+      Object actual = matched;
+      diagnosed = true;
+
+      // Expected and actual objects have the same "nullity"?
+      if( (expectedMembers == null) != (actual == null))
+        {
+        iterableMismatch = 
+          expectedMembers == null
+          ? "was not null"
+          : "was null";
+        }
+      else if( actual != null)
+        {
+        // Comparing to an actual Iterable?
+        Iterable<T> actualIterable =
+          Iterable.class.isInstance( actual)?
+          (Iterable<T>) actual :
+
+          Iterator.class.isInstance( actual)?
+          () -> (Iterator<T>) actual :
+
+          actual.getClass().isArray() ?
+          Arrays.asList( (T[]) actual) :
+          
+          null;
+
+        if( actualIterable == null)
+          {
+          iterableMismatch = "was not an Iterable";
+          }
+        else if( streamingLimit >= 0 && memberOrder == null)
+          {
+          matchVisited( actualIterable);
+          }
+        else
+          {
+          matchCollected( actualIterable);
+          }
+        }
+      }
+
+    /**
+     * Matches the given actual members after collecting them.
+     */
+    private void matchCollected( Iterable<T> actualIterable)
+      {
+      // Must collect the actual members in advance to prepare for multiple matching traversals.
+      List<T> actualMembers = streamFor( actualIterable).collect( toList());
+
+      // Are actual members a 1-to-1 "equals" match for expected members?
+      int[] expectedPositions = expectedPositions( actualMembers);
+      boolean[] paired = new boolean[ expectedMembers.size()];
+      List<T> unexpected = new ArrayList<>();
+
+      for( int i = 0; i < expectedPositions.length; i++)
+        {
+        if( expectedPositions[i] < 0)
+          {
+          unexpected.add( actualMembers.get(i));
+          }
+        else
+          {
+          paired[ expectedPositions[i]] = true;
+          }
+        }
+
+      setIterableMismatch( paired, unexpected, unexpected.size());
+
+      if( iterableMismatch == null && memberMatcherSupplier != null)
+        {
+        // Does each actual member satisfy the specified member Matcher for its expected member counterpart?
+        IntFunction<MemberMatch> mismatchAt = i -> mismatchAt( actualMembers.get(i), expectedPositions[i]);
+        memberMismatch =
+          (parallelPool == null
+           ? IntStream.range( 0, expectedPositions.length).mapToObj( mismatchAt).filter( Objects::nonNull).findFirst()
+           : ParallelSearch.findFirst( expectedPositions.length, parallelPool, mismatchAt))
+          .orElse( null);
+        }
+      }
+
+    /**
+     * Returns the mismatch between the given actual member and the expected member at the given position, or null if they match.
+     */
+    private MemberMatch mismatchAt( T actualMember, int expectedPosition)
+      {
+      MemberMatch memberMatch = new MemberMatch( actualMember, memberMatchers.get( expectedPosition));
+      return memberMatch.getMatcher().matches( actualMember)? null : memberMatch;
+      }
+
+    /**
+     * Matches each of the given actual members as it is visited, without collecting them. Only a limited
+     * number of unexpected members are retained.
+     */
+    private void matchVisited( Iterable<T> actualIterable)
+      {
+      MemberIndex<T>.Pairing pairing = getExpectedIndex().pairing();
+      boolean[] paired = new boolean[ expectedMembers.size()];
+      List<T> unexpected = new ArrayList<>();
+      int unexpectedCount = 0;
+
+      for( T member : actualIterable)
+        {
+        int expectedPosition = pairing.match( member);
+        if( expectedPosition < 0)
+          {
+          if( unexpectedCount++ < streamingLimit)
+            {
+            unexpected.add( member);
+            }
+          }
+        else
+          {
+          paired[ expectedPosition] = true;
+
+          // Does this actual member satisfy the specified member Matcher for its expected member counterpart?
+          if( memberMismatch == null && memberMatcherSupplier != null)
+            {
+            MemberMatch memberMatch = new MemberMatch( member, memberMatchers.get( expectedPosition));
+            if( !memberMatch.getMatcher().matches( member))
+              {
+              memberMismatch = memberMatch;
+              }
+            }
+          }
+        }
+
+      setIterableMismatch( paired, unexpected, unexpectedCount);
+
+      // Any member mismatch is relevant only if all actual members are "equals" matches for expected members.
+      if( iterableMismatch != null)
+        {
+        memberMismatch = null;
+        }
+      }
+
+    /**
+     * Describes any expected members that are not paired and any (retained) actual members that are unexpected.
+     */
+    private void setIterableMismatch( boolean[] paired, List<T> unexpected, int unexpectedCount)
+      {
+      // Any expected members missing?
+      List<T> unmatched =
+        IntStream.range( 0, paired.length)
+        .filter( i -> !paired[i])
+        .mapToObj( i -> expectedMembers.get(i))
+        .collect( toList());
+          
+      if( !unmatched.isEmpty())
+        {
+        iterableMismatch =
+          "was missing "
+          + unmatched.size()
+          + membersLabel()
+          + toString( unmatched, unmatched.size())
+          + "]";
+        }
+
+      // Any actual members unexpected?
+      if( unexpectedCount > 0)
+        {
+        iterableMismatch =
+          (iterableMismatch == null? "" : (iterableMismatch + "\n     and: "))
+          + "had "
+          + unexpectedCount
+          + " unexpected"
+          + membersLabel()
+          + toString( unexpected, unexpectedCount)
+          + "]";
+        }
+      }
+
+    /**
+     * Returns the matching result.
+     */
+    public boolean matches()
+      {
+      return !knownMismatch && !getIterableMismatch().isPresent() && !getMemberMismatch().isPresent();
+      }
+
+    /**
+     * Returns the object matched by this MemberMatcher.
+     */
+    public Object getMatched()
+      {
+      return matched;
+      }
+
+    /**
+     * Returns a description of any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    public Optional<String> getIterableMismatch()
+      {
+      if( !diagnosed)
+        {
+        diagnose();
+        }
+      
+      return Optional.ofNullable( iterableMismatch);
+      }
+
+    /**
+     * Returns any mismatch between a member of a matched Iterable and its counterpart in the expected Iterable.
+     */
+    public Optional<MemberMatch> getMemberMismatch()
+      {
+      if( !diagnosed)
+        {
+        diagnose();
+        }
+      
+      return Optional.ofNullable( memberMismatch);
+      }
+
+    /**
+     * Returns the position of the expected member paired with each of the given actual members, or -1 if
+     * an actual member is unexpected.
+     */
+    private int[] expectedPositions( List<T> actualMembers)
+      {
+      int[] expectedPositions;
+      if( memberOrder == null)
+        {
+        MemberIndex<T>.Pairing pairing = getExpectedIndex().pairing();
+        expectedPositions = actualMembers.stream().mapToInt( pairing::match).toArray();
+        }
+      else
+        {
+        expectedPositions = MemberMerge.expectedPositions( expectedMembers, actualMembers, memberOrder);
+        }
+
+      return expectedPositions;
+      }
+
+    /**
+     * Returns the label that introduces a list of members.
+     */
+    private String membersLabel()
+      {
+      return
+        memberKey == null
+        ? " members=["
+        : " members with keys=[";
+      }
+
+    /**
+     * Returns a string representing the given list, which contains the first of the given number of members.
+     * When failing fast, only the first members are represented.
+     */
+    private String toString( List<T> members, int count)
+      {
+      return
+        membersToString(
+          members,
+          count,
+          FailFast.listedLimit( reportLimit),
+          m -> memberKey == null? m : memberKey.apply( m));
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), ContainsMembers.this.getClass().getSimpleName());
+      }
+    }
+ 
+  /**
+   * Creates a new ContainsMembers instance.
+   */
+  public ContainsMembers( Iterable<? extends T> expected)
+    {
+    this( expected, null);
+    }
+ 
+  /**
+   * Creates a new ContainsMembers instance that adds an additional match condition: each member of a
+   * matched Iterable must satisfy the Matcher returned by the given supplier for its <CODE>equals</CODE>-matching 
+   * counterpart in the given expected Iterable.
+   */
+  public ContainsMembers( Iterable<? extends T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this( null, expected, memberMatcherSupplier);
+    }
+ 
+  /**
+   * Creates a new ContainsMembers instance that adds an additional match condition: each member of a
+   * matched Iterable must satisfy the Matcher returned by the given supplier for its <CODE>equals</CODE>-matching 
+   * counterpart in the given expected Iterable.
+   */
+  public ContainsMembers( String iterableDescription, Iterable<? extends T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this( iterableDescription, expected, null, memberMatcherSupplier);
+    }
+ 
+  /**
+   * Creates a new ContainsMembers instance that pairs actual and expected members by sorting both in the given order,
+   * instead of by comparing member hash codes. Members that are equal according to the given Comparator are considered
+   * <CODE>equals</CODE>-matching. If the given member Matcher supplier is non-null, each member of a matched Iterable
+   * must also satisfy the Matcher returned for its counterpart in the given expected Iterable.
+   */
+  public ContainsMembers( String iterableDescription, Iterable<? extends T> expected, Comparator<? super T> memberOrder, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this( iterableDescription, expected, memberOrder, null, memberMatcherSupplier);
+    }
+ 
+  /**
+   * Creates a new ContainsMembers instance that pairs actual and expected members using the <CODE>equals</CODE>-matching
+   * keys derived by the given function, instead of comparing the members themselves. If the given member Matcher
+   * supplier is non-null, each member of a matched Iterable must also satisfy the Matcher returned for its
+   * counterpart in the given expected Iterable.
+   */
+  public ContainsMembers( String iterableDescription, Function<? super T,?> memberKey, Iterable<? extends T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this( iterableDescription, expected, null, memberKey, memberMatcherSupplier);
+    }
+ 
+  /**
+   * Creates a new ContainsMembers instance.
+   */
+  private ContainsMembers( String iterableDescription, Iterable<? extends T> expected, Comparator<? super T> memberOrder, Function<? super T,?> memberKey, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this.iterableDescription =
+      iterableDescription == null
+      ? "Iterable"
+      : iterableDescription;
+    
+    this.memberMatcherSupplier = memberMatcherSupplier;
+    this.memberOrder = memberOrder;
+    this.memberKey = memberKey;
+    
+    expectedMembers =
+      expected == null
+      ? null
+      : streamFor( expected).collect( toList());
+
+    memberMatchers = new MemberMatchers<T>( expectedMembers, memberMatcherSupplier);
+    }
+
+  /**
+   * Changes this matcher to visit the members of a matched Iterable in a single pass, without first collecting them.
+   * Each actual member is paired with an expected member as it is visited, and only the given maximum number of
+   * unexpected members is retained to describe a mismatch. Not applicable when members are paired by sorting.
+   */
+  public ContainsMembers<T> streaming( int maxUnexpected)
+    {
+    if( maxUnexpected < 0)
+      {
+      throw new IllegalArgumentException( "Maximum unexpected members must be non-negative");
+      }
+    
+    streamingLimit = maxUnexpected;
+    return this;
+    }
+
+  /**
+   * Changes this matcher to fail fast when a matched Iterable is a Collection of a different size than the
+   * expected Iterable. In this case, a match fails without comparing any members. A detailed mismatch is found
+   * only when it is described, reporting at most the given maximum number of missing or unexpected members.
+   * The maximum must be positive.
+   */
+  public ContainsMembers<T> failFast( int maxReported)
+    {
+    reportLimit = FailFast.reportLimit( maxReported);
+    return this;
+    }
+
+  /**
+   * Changes this matcher to compare the fingerprints of the expected Iterable and a matched Collection before
+   * pairing their members. A fingerprint is computed in a single pass from the hash codes of all members (or their keys),
+   * regardless of order. If the fingerprints differ, a match fails without pairing any members, and a detailed mismatch
+   * is found only when it is described. If the fingerprints are equal, members are paired as usual.
+   * <P/>
+   * Fingerprints are not compared when members are ordered by a Comparator.
+   */
+  public ContainsMembers<T> fingerprinted()
+    {
+    fingerprinted = true;
+    return this;
+    }
+
+  /**
+   * Changes this matcher to apply member Matchers in parallel, using the common {@link ForkJoinPool}.
+   *
+   * @see #parallel(ForkJoinPool)
+   */
+  public ContainsMembers<T> parallel()
+    {
+    return parallel( ForkJoinPool.commonPool());
+    }
+
+  /**
+   * Changes this matcher to apply member Matchers in parallel, using the given {@link ForkJoinPool}. After all
+   * members are paired, the actual members are split into chunks that are matched concurrently. The member
+   * mismatch reported is always the one for the actual member at the lowest position, the same as when matching
+   * sequentially. When {@link #streaming streaming}, member Matchers are still applied sequentially.
+   * <P/>
+   * Member Matchers are applied concurrently, so the member Matcher supplier and the Matchers it supplies must meet
+   * the same thread-safety conditions as for {@link ListsMatching#parallel(ForkJoinPool) ListsMatching}.
+   *
+   * @see ListsMatching#parallel(ForkJoinPool)
+   */
+  public ContainsMembers<T> parallel( ForkJoinPool pool)
+    {
+    parallelPool = pool;
+    return this;
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects. The index used to pair actual and expected members is
+   * built now, and the Matcher supplied for each expected member is kept and reused for every match.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    if( expectedMembers != null && memberOrder == null)
+      {
+      getExpectedIndex();
+      }
+    memberMatchers.prepare();
+    }
+
+  public boolean matches( Object actual)
+    {
+    return getMemberMatcher( actual).matches();
+    }
+
+  public void describeTo( Description description)
+    {
+    description.appendText(
+      expectedMembers == null?
+      "null" :
+
+      getMemberMismatch()
+      .map( m -> iterableDescription + " containing " + descriptionOf( m.getMatcher()))
+      
+      .orElse( iterableDescription + " with " + expectedMembers.size() + " members"));
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    MemberMatcher memberMatcher = getMemberMatcher( actual);
+
+    String mismatch =
+      memberMatcher.getIterableMismatch()
+      .orElse(
+        memberMatcher.getMemberMismatch()
+        .map( m -> mismatchFor( m.getMatcher(), m.getActualMember()))
+        .orElse( null));
+
+    if( mismatch != null)
+      {
+      description.appendText( mismatch);
+      }
+    }
+
+  /**
+   * Returns the fingerprint of the expected members.
+   */
+  private MemberFingerprint getExpectedFingerprint()
+    {
+    if( expectedFingerprint == null)
+      {
+      expectedFingerprint = MemberFingerprint.of( expectedMembers, memberKey);
+      }
+
+    return expectedFingerprint;
+    }
+
+  /**
+   * Returns the index used to pair actual members with expected members, building it when first needed.
+   */
+  private MemberIndex<T> getExpectedIndex()
+    {
+    if( expectedIndex == null)
+      {
+      expectedIndex = new MemberIndex<T>( expectedMembers, memberKey);
+      }
+
+    return expectedIndex;
+    }
+
+  /**
+   * Returns the MemberMatcher for the given actual object, evaluated on the current thread.
+   */
+  private MemberMatcher getMemberMatcher( Object actual)
+    {
+    MemberMatcher current = memberMatcher.get();
+    if( current == null || current.getMatched() != actual)
+      {
+      current = new MemberMatcher( actual);
+      memberMatcher.set( current);
+      }
+
+    return current;
+    }
+
+  /**
+   * Returns any mismatch between a member of a matched Iterable and its counterpart in the expected Iterable.
+   */
+  private Optional<MemberMatch> getMemberMismatch()
+    {
+    MemberMatcher current = memberMatcher.get();
+    return
+      current == null
+      ? Optional.empty()
+      : current.getMemberMismatch();
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
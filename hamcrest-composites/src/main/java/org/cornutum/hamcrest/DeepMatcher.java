@@ -0,0 +1,428 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.hamcrest.FeatureMatcher;
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A composite matcher that compares all bean properties of an object of a specified class.
+ * <P/>
+ * The property getters of each class are found only once, when a DeepMatcher for the class is first created.
+ * Each getter is converted to a {@link Function} accessor using {@link LambdaMetafactory}, so that property values
+ * are accessed at the same speed as a hand-written lambda, such as <CODE>Shape::getColor</CODE>. The resulting
+ * {@link CompositePlan} is cached and shared by all DeepMatcher instances for the class.
+ * <P/>
+ * A generated lambda can only call a getter that DeepMatcher itself can access. For example, a public getter of
+ * a class that is not public and belongs to another package is not accessible. Such a getter is instead called using
+ * reflection, which is slower.
+ * <P/>
+ * Each property is compared by a Matcher chosen according to its type.
+ * <UL>
+ * <LI> A List property must satisfy the {@link ListsMembers} matcher.</LI>
+ * <LI> Any other Iterable property must satisfy the {@link ContainsMembers} matcher.</LI>
+ * <LI> A Map property must satisfy the {@link ContainsEntries} matcher.</LI>
+ * <LI> An array property must satisfy the {@link ListsElements} matcher.</LI>
+ * <LI> A property of a class that defines bean properties but does not define <CODE>equals()</CODE> must satisfy
+ * another DeepMatcher, found for the property class when first needed.</LI>
+ * <LI> Any other property must satisfy the {@link org.hamcrest.core.IsEqual} matcher.</LI>
+ * </UL>
+ * <P/>
+ * If the members of a List or other Iterable property are of a class that must satisfy another DeepMatcher, members
+ * are instead paired by a DeepMatcher for each expected member, using the {@link ListsMatching} or
+ * {@link ContainsMatching} matcher. Similarly, if the values of a Map property are of such a class, entries are paired
+ * by key and the value of each entry must satisfy a DeepMatcher. The member class is found from the generic return type of the getter, such as
+ * <CODE>List&lt;Shape&gt;</CODE>. If the member class is not known, members are compared using <CODE>equals()</CODE>,
+ * as are the elements of an array property.
+ */
+public class DeepMatcher<T> extends ClassCompositeMatcher<T>
+  {
+  private static final ClassValue<CompositePlan<?>> plans =
+    new ClassValue<CompositePlan<?>>()
+      {
+      protected CompositePlan<?> computeValue( Class<?> type)
+        {
+        return planFor( type);
+        }
+      };
+
+  /**
+   * Creates a new DeepMatcher instance.
+   */
+  @SuppressWarnings("unchecked")
+  public DeepMatcher( Class<T> type, T expected)
+    {
+    super( type, expected, (CompositePlan<T>) plans.get( type));
+    }
+
+  /**
+   * Returns the key that identifies the comparison made by this Matcher. Every DeepMatcher shares the same class but
+   * compares the properties of its own type, so the key is the expected type.
+   */
+  protected Object getMatchKey()
+    {
+    return getExpectedType();
+    }
+
+  /**
+   * Returns the {@link CompositePlan} for all properties of the given class.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static CompositePlan<?> planFor( Class<?> type)
+    {
+    CompositePlan.Builder<Object> plan = new CompositePlan.Builder<Object>();
+    for( Method getter : getters( type))
+      {
+      plan.expectThat( propertyName( getter), accessorFor( getter), (Function) resultMatcherSupplier( getter.getGenericReturnType()));
+      }
+
+    return plan.build();
+    }
+
+  /**
+   * Returns the property getters for the given class, ordered by name.
+   */
+  private static List<Method> getters( Class<?> type)
+    {
+    Map<String,Method> getters = new HashMap<String,Method>();
+    Arrays.stream( type.getMethods())
+      .filter( method -> !Modifier.isStatic( method.getModifiers()))
+      .filter( method -> method.getParameterCount() == 0)
+      .filter( method -> !method.getDeclaringClass().equals( Object.class))
+      .filter( method -> !propertyName( method).isEmpty())
+      .forEach( method -> getters.merge( method.getName(), method, DeepMatcher::preferredGetter));
+
+    return
+      getters.values().stream()
+      .sorted( Comparator.comparing( DeepMatcher::propertyName))
+      .collect( toList());
+    }
+
+  /**
+   * Returns the preferred of two getters with the same name. A bridge getter, such as one generated for a covariant
+   * return type, is replaced by the getter it bridges to. But a public getter inherited from a class that is not
+   * public may be visible only as a bridge, so a bridge is kept when no other getter has the same name. Otherwise,
+   * the getter with the most specific return type is preferred.
+   */
+  private static Method preferredGetter( Method getter, Method other)
+    {
+    return
+      getter.isBridge() != other.isBridge()?
+      (getter.isBridge()? other : getter) :
+
+      getter.getReturnType().isAssignableFrom( other.getReturnType())?
+      other :
+
+      getter;
+    }
+
+  /**
+   * If the given method is a property getter, returns the property name. Otherwise, returns an empty string.
+   */
+  private static String propertyName( Method method)
+    {
+    String name = method.getName();
+    Class<?> type = method.getReturnType();
+
+    String property =
+      name.startsWith( "get") && !type.equals( void.class)?
+      name.substring( 3) :
+
+      name.startsWith( "is") && (type.equals( boolean.class) || type.equals( Boolean.class))?
+      name.substring( 2) :
+
+      "";
+
+    return
+      property.isEmpty()
+      ? property
+      : Character.toLowerCase( property.charAt(0)) + property.substring( 1);
+    }
+
+  /**
+   * Returns a Function that returns the value of the given property getter. If the getter is not accessible to
+   * a generated lambda, the Function uses reflection.
+   */
+  private static Function<Object,Object> accessorFor( Method getter)
+    {
+    Function<Object,Object> accessor;
+    try
+      {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle handle = lookup.unreflect( getter);
+      accessor =
+        lambdaFor(
+          LambdaMetafactory.metafactory(
+            lookup,
+            "apply",
+            MethodType.methodType( Function.class),
+            MethodType.methodType( Object.class, Object.class),
+            handle,
+            handle.type().wrap()));
+      }
+    catch( IllegalAccessException | LambdaConversionException e)
+      {
+      // Not accessible to a generated lambda? Then fall back to reflection.
+      accessor = reflectiveAccessorFor( getter);
+      }
+
+    return accessor;
+    }
+
+  /**
+   * Returns the Function created by the given lambda call site.
+   */
+  @SuppressWarnings("unchecked")
+  private static Function<Object,Object> lambdaFor( CallSite callSite)
+    {
+    try
+      {
+      return (Function<Object,Object>) callSite.getTarget().invokeExact();
+      }
+    catch( Throwable e)
+      {
+      throw new IllegalStateException( "Can't create accessor", e);
+      }
+    }
+
+  /**
+   * Returns a Function that returns the value of the given property getter using reflection.
+   */
+  private static Function<Object,Object> reflectiveAccessorFor( Method getter)
+    {
+    try
+      {
+      getter.setAccessible( true);
+      }
+    catch( RuntimeException e)
+      {
+      throw new IllegalArgumentException( "Can't access property=" + propertyName( getter) + " of " + getter.getDeclaringClass(), e);
+      }
+
+    return
+      source ->
+      {
+      try
+        {
+        return getter.invoke( source);
+        }
+      catch( InvocationTargetException e)
+        {
+        throw new IllegalStateException( "Can't get property=" + propertyName( getter), e.getCause());
+        }
+      catch( IllegalAccessException e)
+        {
+        throw new IllegalStateException( "Can't get property=" + propertyName( getter), e);
+        }
+      };
+    }
+
+  /**
+   * Returns a supplier of the Matcher for a property of the given type.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Function<Object,Matcher<Object>> resultMatcherSupplier( Type propertyType)
+    {
+    Class<?> type = rawClassOf( propertyType);
+    Class<?> memberType;
+    Function supplier;
+
+    if( List.class.isAssignableFrom( type))
+      {
+      supplier =
+        isDeep( memberType = typeArgumentOf( propertyType, Iterable.class, 0))
+        ? listsMatching( deepMatcherSupplier( memberType))
+        : (Function<Iterable<Object>,Matcher<Iterable<Object>>>) Composites::listsMembers;
+      }
+    else if( Iterable.class.isAssignableFrom( type))
+      {
+      supplier =
+        isDeep( memberType = typeArgumentOf( propertyType, Iterable.class, 0))
+        ? containsMatching( deepMatcherSupplier( memberType))
+        : (Function<Iterable<Object>,Matcher<Iterable<Object>>>) Composites::containsMembers;
+      }
+    else if( Map.class.isAssignableFrom( type))
+      {
+      supplier =
+        isDeep( memberType = typeArgumentOf( propertyType, Map.class, 1))
+        ? deepValuesMatcherSupplier( memberType)
+        : (Function<Map<Object,Object>,Matcher<Map<Object,Object>>>) Composites::containsEntries;
+      }
+    else if( type.isArray() && !type.getComponentType().isPrimitive())
+      {
+      supplier = (Function<Object[],Matcher<Object[]>>) Composites::listsElements;
+      }
+    else if( isDeep( type))
+      {
+      supplier = deepMatcherSupplier( type);
+      }
+    else
+      {
+      supplier = (Function<Object,Matcher<Object>>) Matchers::equalTo;
+      }
+
+    return supplier;
+    }
+
+  /**
+   * Returns a supplier of a DeepMatcher for the given type.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Function<Object,Matcher<Object>> deepMatcherSupplier( Class<?> type)
+    {
+    return expected -> new DeepMatcher( type, expected);
+    }
+
+  /**
+   * Returns a supplier of the Matcher for a Map whose values must satisfy a DeepMatcher for the given type. The
+   * entries of the actual Map are paired by key with the expected entries, so that each actual value is compared
+   * with the expected value for an equal key.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Function<Map<Object,Object>,Matcher<Map<Object,Object>>> deepValuesMatcherSupplier( Class<?> valueType)
+    {
+    Function<Map.Entry<Object,Object>,Object> entryKey = Map.Entry::getKey;
+    Function entriesMatcherSupplier = containsMatching( entryKey, new MapEntryMatcher.Supplier( deepMatcherSupplier( valueType)));
+
+    return
+      expected ->
+      new FeatureMatcher<Map<Object,Object>,Set<Map.Entry<Object,Object>>>(
+        (Matcher<Set<Map.Entry<Object,Object>>>) entriesMatcherSupplier.apply( expected.entrySet()),
+        "Map entry set",
+        "entry set")
+        {
+        protected Set<Map.Entry<Object,Object>> featureValueOf( Map<Object,Object> actual)
+          {
+          return actual.entrySet();
+          }
+        };
+    }
+
+  /**
+   * Returns the class of the type argument at the given position when the given type is seen as the given generic
+   * class. Returns null if this type argument is not known.
+   */
+  private static Class<?> typeArgumentOf( Type type, Class<?> generic, int position)
+    {
+    Type[] arguments = typeArgumentsAs( type, generic);
+    Type argument = arguments == null? null : arguments[ position];
+    return
+      argument instanceof WildcardType
+      ? rawClassOf( ((WildcardType) argument).getUpperBounds()[0])
+      : rawClassOf( argument);
+    }
+
+  /**
+   * Returns the type arguments of the given type when seen as the given generic class. Returns null if the given
+   * type is not a subtype of the generic class or if its type arguments are not known.
+   */
+  private static Type[] typeArgumentsAs( Type type, Class<?> generic)
+    {
+    Class<?> rawType = rawClassOf( type);
+    Type[] actuals =
+      type instanceof ParameterizedType
+      ? ((ParameterizedType) type).getActualTypeArguments()
+      : null;
+
+    Type[] arguments = null;
+    if( rawType == generic)
+      {
+      arguments = actuals;
+      }
+    else if( rawType != null && generic.isAssignableFrom( rawType))
+      {
+      List<Type> supertypes = new ArrayList<Type>( Arrays.asList( rawType.getGenericInterfaces()));
+      if( rawType.getGenericSuperclass() != null)
+        {
+        supertypes.add( rawType.getGenericSuperclass());
+        }
+      for( Iterator<Type> supertype = supertypes.iterator(); arguments == null && supertype.hasNext(); )
+        {
+        arguments = typeArgumentsAs( supertype.next(), generic);
+        }
+
+      // Replace any type variables of the raw type with the type arguments of the given type.
+      List<TypeVariable<?>> parameters = Arrays.asList( rawType.getTypeParameters());
+      for( int i = 0; actuals != null && arguments != null && i < arguments.length; i++)
+        {
+        int parameter = parameters.indexOf( arguments[i]);
+        if( parameter >= 0)
+          {
+          arguments[i] = actuals[ parameter];
+          }
+        }
+      }
+
+    return arguments;
+    }
+
+  /**
+   * Returns the class of the given type, or null if the given type is not a class or a parameterized class.
+   */
+  private static Class<?> rawClassOf( Type type)
+    {
+    return
+      type instanceof Class?
+      (Class<?>) type :
+
+      type instanceof ParameterizedType?
+      (Class<?>) ((ParameterizedType) type).getRawType() :
+
+      null;
+    }
+
+  /**
+   * Returns if a property of the given type must be compared by another DeepMatcher.
+   */
+  private static boolean isDeep( Class<?> type)
+    {
+    boolean deep;
+    try
+      {
+      deep =
+        type != null
+        && !type.isPrimitive()
+        && !type.isInterface()
+        && !type.isEnum()
+        && !type.getName().startsWith( "java.")
+        && type.getMethod( "equals", Object.class).getDeclaringClass().equals( Object.class)
+        && !getters( type).isEmpty();
+      }
+    catch( NoSuchMethodException e)
+      {
+      deep = false;
+      }
+
+    return deep;
+    }
+  }
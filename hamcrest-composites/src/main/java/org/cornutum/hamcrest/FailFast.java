@@ -0,0 +1,64 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Defines support methods for matchers of an Iterable that can fail fast when a matched Collection has a different
+ * size than the expected Iterable. A matcher that does not fail fast has a negative report limit.
+ */
+final class FailFast
+  {
+  /**
+   * Creates a new FailFast instance.
+   */
+  private FailFast()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Returns the report limit for the given maximum number of reported members. Throws an IllegalArgumentException
+   * if the given maximum is not positive.
+   */
+  public static int reportLimit( int maxReported)
+    {
+    if( maxReported < 1)
+      {
+      throw new IllegalArgumentException( "Maximum reported members must be positive");
+      }
+
+    return maxReported;
+    }
+
+  /**
+   * Returns the maximum number of members listed in a mismatch description for the given report limit.
+   */
+  public static int listedLimit( int reportLimit)
+    {
+    return reportLimit < 0? MAX_LISTED_MEMBERS : reportLimit;
+    }
+
+  /**
+   * When failing fast, returns true if the given actual object is a Collection with a different size than the given
+   * expected members. In this case, a match fails without comparing any members, and the mismatch is diagnosed only
+   * when it is described.
+   */
+  public static boolean isSizeMismatch( int reportLimit, List<?> expectedMembers, Object actual)
+    {
+    return
+      reportLimit >= 0
+      && expectedMembers != null
+      && actual instanceof Collection
+      && ((Collection<?>) actual).size() != expectedMembers.size();
+    }
+  }
@@ -23,7 +23,7 @@ import java.util.function.Function;
  * given supplier function.  Then each element of a matched array must satisfy the element-specific
  * Matcher returned for its counterpart in the given expected array.
  */
-public class ListsElements<T> extends BaseMatcher<T[]>
+public class ListsElements<T> extends BaseMatcher<T[]> implements Preparable
   {
   private final ListsMembers<T> listsMembers;
   
@@ -71,6 +71,16 @@ public class ListsElements<T> extends BaseMatcher<T[]>
     listsMembers = new ListsMembers<T>( members, elementMatcherSupplier);
     }
 
+  /**
+   * Prepares this matcher to be applied to many actual objects.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    listsMembers.prepare();
+    }
+
   public boolean matches( Object actual)
     {
     return listsMembers.matches( actual);
@@ -0,0 +1,604 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2020, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Matches an Iterable containing a specified sequence of members, in order.  The specified "member
+ * Matcher supplier" function defines the match conditions for Iterable members.
+ * <P/>
+ * First, for each member of the expected Iterable, a member-specific Matcher is derived by the
+ * given supplier function.  Then each member of a matched Iterable must satisfy the member-specific
+ * Matcher returned for its counterpart in the given expected Iterable.
+ * <P/>
+ * Unlike the {@link org.cornutum.hamcrest.ListsMembers} matcher, this matcher does not attempt to compare members using <CODE>equals()</CODE>.
+ * The {@link org.cornutum.hamcrest.ListsMembers} matcher is preferred when member <CODE>equals</CODE> methods are defined based on a few "primary key" fields.
+ * In other cases, this matcher may provide a more precise description of match failures. But, unlike {@link org.cornutum.hamcrest.ListsMembers},
+ * this matcher cannot always verify that an expected member is missing or that an actual member does not belong.
+ */
+public class ListsMatching<T> extends BaseMatcher<Iterable<T>> implements Preparable
+  {
+  private final List<T> expectedMembers;
+  private final MemberMatchers<T> memberMatchers;
+  private int reportLimit = -1;
+  private int diffLimit = -1;
+  private int streamingContext = -1;
+  private ForkJoinPool parallelPool;
+  private final PerThread<MemberMatcher> memberMatcher = new PerThread<MemberMatcher>();
+
+  /**
+   * Represents the match between a member of a matched Iterable and its counterpart in the expected Iterable.
+   */
+  private class MemberMatch
+    {
+    private final int index;
+    private final T actualMember;
+    private final Matcher<T> matcher;
+    
+    /**
+     * Creates a new MemberMatch instance.
+     */
+    public MemberMatch( int index, T actualMember, Matcher<T> matcher)
+      {
+      this.index = index;
+      this.actualMember = actualMember;
+      this.matcher = matcher;
+      }
+
+    public T getActualMember()
+      {
+      return actualMember;
+      }
+
+    public int getIndex()
+      {
+      return index;
+      }
+
+    public Matcher<T> getMatcher()
+      {
+      return matcher;
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[actual=%s, index=%s, matcher=%s]", getClass().getSimpleName(), actualMember, index, matcher);
+      }
+    }
+
+  /**
+   * Builds and supplies a {@link ListsMatching} matcher for a specified source Iterable.
+   */
+  public static class Supplier<T,S extends Iterable<T>> implements Function<S,Matcher<S>>
+    {
+    private Function<T,Matcher<T>> memberMatcherSupplier;
+    private int reportLimit = -1;
+    private int diffLimit = -1;
+    private int streamingContext = -1;
+    private ForkJoinPool parallelPool;
+    
+    /**
+     * Creates a new ListsMatchingSupplier that supplies a {@link ListsMatching} matcher using
+     * the given member Matcher supplier.
+     */
+    public Supplier( Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this.memberMatcherSupplier = memberMatcherSupplier;
+      }
+
+    /**
+     * Changes the supplied {@link ListsMatching} matcher to fail fast when a matched Collection has a different size.
+     *
+     * @see ListsMatching#failFast
+     */
+    public Supplier<T,S> failFast( int maxReported)
+      {
+      reportLimit = FailFast.reportLimit( maxReported);
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ListsMatching} matcher to describe a mismatch as the differences between sequences.
+     *
+     * @see ListsMatching#diff
+     */
+    public Supplier<T,S> diff( int maxEdits)
+      {
+      diffLimit = maxEdits;
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ListsMatching} matcher to visit the members of a matched Iterable in lockstep.
+     *
+     * @see ListsMatching#streaming
+     */
+    public Supplier<T,S> streaming( int contextSize)
+      {
+      streamingContext = contextSize;
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ListsMatching} matcher to apply member Matchers in parallel, using the given pool.
+     *
+     * @see ListsMatching#parallel(ForkJoinPool)
+     */
+    public Supplier<T,S> parallel( ForkJoinPool pool)
+      {
+      parallelPool = pool;
+      return this;
+      }
+
+    /**
+     * Returns the {@link ListsMatching} matcher supplied for the given source Iterable.
+     */
+    @SuppressWarnings("unchecked")
+    public Matcher<S> apply( S source)
+      {
+      ListsMatching<T> matcher = new ListsMatching<T>( source, memberMatcherSupplier);
+      if( reportLimit >= 0)
+        {
+        matcher.failFast( reportLimit);
+        }
+      if( diffLimit >= 0)
+        {
+        matcher.diff( diffLimit);
+        }
+      if( streamingContext >= 0)
+        {
+        matcher.streaming( streamingContext);
+        }
+      if( parallelPool != null)
+        {
+        matcher.parallel( parallelPool);
+        }
+      
+      return (Matcher<S>) matcher;
+      }
+    }
+
+  /**
+   * Matches an actual Iterable with the list of expected members.
+   */
+  private class MemberMatcher
+    {
+    private final Object matched;
+    private final boolean sizeMismatch;
+    private boolean diagnosed;
+    private String context = "";
+    private String iterableMismatch;
+    private MemberMatch memberMismatch;
+    
+    /**
+     * Creates a new MemberMatcher instance.
+     */
+    public MemberMatcher( Object actual)
+      {
+      matched = actual;
+      iterableMismatch = null;
+      memberMismatch = null;
+
+      // When failing fast, the mismatch is diagnosed only when it is described.
+      sizeMismatch = FailFast.isSizeMismatch( reportLimit, expectedMembers, actual);
+
+      if( !sizeMismatch)
+        {
+        diagnose();
+        }
+      }
+
+    /**
+     * Finds any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    @SuppressWarnings("unchecked")
+    private void diagnose()
+      {
+      Object actual = matched;
+      diagnosed = true;
+
+      // Expected and actual objects have the same "nullity"?
+      if( (expectedMembers == null) != (actual == null))
+        {
+        iterableMismatch = 
+          expectedMembers == null
+          ? "was not null"
+          : "was null";
+        }
+      else if( actual != null)
+        {
+        // Comparing to an actual Iterable?
+        Iterable<T> actualMembers =
+          Iterable.class.isInstance( actual)?
+          (Iterable<T>) actual :
+
+          Iterator.class.isInstance( actual)?
+          () -> (Iterator<T>) actual :
+
+          actual.getClass().isArray() ?
+          Arrays.asList( (T[]) actual) :
+          
+          null;
+
+        if( actualMembers == null)
+          {
+          iterableMismatch = "was not an Iterable";
+          }
+        else if( streamingContext >= 0)
+          {
+          matchVisited( actualMembers);
+          }
+        else
+          {
+          // Must collect the actual sequence in advance to prepare for multiple matching traversals, unless already indexed.
+          List<T> actualSequence =
+            actualMembers instanceof List && actualMembers instanceof RandomAccess
+            ? (List<T>) actualMembers
+            : streamFor( actualMembers).collect( toList());
+
+          // Does each actual member satisfy the specified member Matcher for its expected member counterpart?
+          int matchedSize = Math.min( expectedMembers.size(), actualSequence.size());
+          IntFunction<MemberMatch> mismatchAt = i -> mismatchAt( actualSequence, i);
+
+          memberMismatch =
+            (parallelPool == null
+             ? IntStream.range( 0, matchedSize).mapToObj( mismatchAt).filter( Objects::nonNull).findFirst()
+             : ParallelSearch.findFirst( matchedSize, parallelPool, mismatchAt))
+            .orElse( null);
+
+          if( memberMismatch == null)
+            {
+            // Any expected members missing?
+            if( expectedMembers.size() > matchedSize)
+              {
+              List<T> missing = expectedMembers.subList( matchedSize, expectedMembers.size());
+              iterableMismatch =
+                String.format(
+                  "was missing %s members=[%s] starting at position=%s",
+                  missing.size(),
+                  toString( missing),
+                  matchedSize);
+              }
+
+            // Any actual members unexpected?
+            else if( actualSequence.size() > matchedSize)
+              {
+              List<T> unexpected = actualSequence.subList( matchedSize, actualSequence.size());
+              iterableMismatch =
+                String.format(
+                  "had %s unexpected members=[%s] starting at position=%s",
+                  unexpected.size(),
+                  toString( unexpected),
+                  matchedSize);
+              }
+            }
+
+          if( diffLimit >= 0 && (memberMismatch != null || iterableMismatch != null))
+            {
+            diff( actualSequence);
+            }
+          }
+        }
+      }
+
+    /**
+     * Returns the mismatch between the given actual member and its expected counterpart, or null if they match.
+     */
+    private MemberMatch mismatchAt( List<T> actualSequence, int position)
+      {
+      MemberMatch memberMatch = new MemberMatch( position, actualSequence.get( position), memberMatchers.get( position));
+      return memberMatch.getMatcher().matches( memberMatch.getActualMember())? null : memberMatch;
+      }
+
+    /**
+     * Visits the expected and actual members in lockstep, without collecting them.
+     */
+    private void matchVisited( Iterable<T> actualMembers)
+      {
+      LockstepWalk<T> walk = LockstepWalk.walk( expectedMembers.iterator(), actualMembers.iterator(), streamingContext, false, (position, member) -> memberMatchers.get( position));
+      context = walk.getContext();
+
+      if( walk.isMemberMismatch())
+        {
+        memberMismatch = new MemberMatch( walk.getPosition(), walk.getActualMember(), walk.getMemberMatcher().get());
+        }
+      else
+        {
+        iterableMismatch = walk.getRemainingMismatch().map( mismatch -> mismatch + context).orElse( null);
+        }
+      }
+
+    /**
+     * Returns a description of the matched actual members preceding a member mismatch.
+     */
+    public String getContext()
+      {
+      return context;
+      }
+
+    /**
+     * Describes the differences between the expected sequence and the given actual sequence, unless more than the
+     * maximum number of edits is needed or unless the only difference is the current member mismatch.
+     */
+    private void diff( List<T> actualSequence)
+      {
+      List<Matcher<T>> diffMatchers = new ArrayList<Matcher<T>>( Collections.nCopies( expectedMembers.size(), null));
+
+      Optional<List<SequenceDiff.Hunk>> hunks =
+        SequenceDiff.hunks(
+          expectedMembers.size(),
+          actualSequence.size(),
+          diffLimit,
+          (e, a) -> memberMatcherFor( diffMatchers, e).matches( actualSequence.get(a)));
+
+      boolean memberChanged =
+        hunks
+        .filter( h -> h.size() == 1 && h.get(0).getExpectedEnd() - h.get(0).getExpectedStart() == 1)
+        .filter( h -> h.get(0).getActualEnd() - h.get(0).getActualStart() == 1)
+        .isPresent();
+
+      if( hunks.isPresent() && !memberChanged)
+        {
+        iterableMismatch = SequenceDiff.describe( hunks.get(), expectedMembers, actualSequence);
+        memberMismatch = null;
+        }
+      }
+
+    /**
+     * Returns the Matcher for the expected member at the given position, creating it when first needed.
+     */
+    private Matcher<T> memberMatcherFor( List<Matcher<T>> diffMatchers, int position)
+      {
+      Matcher<T> matcher = diffMatchers.get( position);
+      if( matcher == null)
+        {
+        matcher = memberMatchers.get( position);
+        diffMatchers.set( position, matcher);
+        }
+
+      return matcher;
+      }
+
+    /**
+     * Returns the matching result.
+     */
+    public boolean matches()
+      {
+      return !sizeMismatch && !getIterableMismatch().isPresent() && !getMemberMismatch().isPresent();
+      }
+
+    /**
+     * Returns the object matched by this MemberMatcher.
+     */
+    public Object getMatched()
+      {
+      return matched;
+      }
+
+    /**
+     * Returns a description of any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    public Optional<String> getIterableMismatch()
+      {
+      if( !diagnosed)
+        {
+        diagnose();
+        }
+      
+      return Optional.ofNullable( iterableMismatch);
+      }
+
+    /**
+     * Returns any mismatch between a member of a matched Iterable and its counterpart in the expected Iterable.
+     */
+    public Optional<MemberMatch> getMemberMismatch()
+      {
+      if( !diagnosed)
+        {
+        diagnose();
+        }
+      
+      return Optional.ofNullable( memberMismatch);
+      }
+
+    /**
+     * Returns a string representing the given list. When failing fast, only the first members are represented.
+     */
+    private String toString( List<?> members)
+      {
+      return membersToString( members, members.size(), FailFast.listedLimit( reportLimit), m -> m);
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), ListsMatching.this.getClass().getSimpleName());
+      }
+    }
+ 
+  /**
+   * Creates a new ListsMatching instance. Each member of a matched Iterable must satisfy the
+   * Matcher returned by the given supplier for its counterpart in the given expected Iterable.
+   */
+  public ListsMatching( Iterable<? extends T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    expectedMembers =
+      expected == null
+      ? null
+      : streamFor( expected).collect( toList());
+
+    memberMatchers = new MemberMatchers<T>( expectedMembers, memberMatcherSupplier);
+    }
+
+  /**
+   * Changes this matcher to fail fast when a matched Iterable is a Collection of a different size than the
+   * expected Iterable, reporting at most the given maximum number of missing or unexpected members.
+   *
+   * @see ContainsMembers#failFast
+   */
+  public ListsMatching<T> failFast( int maxReported)
+    {
+    reportLimit = FailFast.reportLimit( maxReported);
+    return this;
+    }
+
+  /**
+   * Changes this matcher to describe a mismatch as the differences between the expected and the matched sequences.
+   * Differences are found by computing a minimal edit script and are reported as hunks of missing, unexpected, or changed
+   * members. If more than the given maximum number of edits is needed, the mismatch is reported as usual.
+   */
+  public ListsMatching<T> diff( int maxEdits)
+    {
+    if( maxEdits < 0)
+      {
+      throw new IllegalArgumentException( "Maximum edits must be non-negative");
+      }
+    
+    diffLimit = maxEdits;
+    return this;
+    }
+
+  /**
+   * Changes this matcher to visit the members of a matched Iterable in lockstep with the expected members, without
+   * collecting them. Any mismatch is reported at the first position where the sequences differ, along with at
+   * most the given number of preceding actual members.
+   */
+  public ListsMatching<T> streaming( int contextSize)
+    {
+    if( contextSize < 0)
+      {
+      throw new IllegalArgumentException( "Context size must be non-negative");
+      }
+    
+    streamingContext = contextSize;
+    return this;
+    }
+
+  /**
+   * Changes this matcher to apply member Matchers in parallel, using the common {@link ForkJoinPool}.
+   *
+   * @see #parallel(ForkJoinPool)
+   */
+  public ListsMatching<T> parallel()
+    {
+    return parallel( ForkJoinPool.commonPool());
+    }
+
+  /**
+   * Changes this matcher to apply member Matchers in parallel, using the given {@link ForkJoinPool}. The
+   * member positions are split into chunks that are matched concurrently. The member mismatch reported is
+   * always the one at the lowest position, the same as when matching sequentially.
+   * <P/>
+   * Member Matchers are applied concurrently, so the member Matcher supplier must be safe to call from multiple
+   * threads at once. Each supplied Matcher must either be a separate instance for each member or keep its match state
+   * per thread, as the composite matchers of this library do. Only the latter is safe when a supplied Matcher is
+   * shared by concurrent matches -- for example, when this matcher is {@link #prepare prepared} and then applied by a
+   * {@link PreparedMatcher#parallel(ForkJoinPool) parallel} PreparedMatcher.
+   *
+   * @see MatchResult
+   */
+  public ListsMatching<T> parallel( ForkJoinPool pool)
+    {
+    parallelPool = pool;
+    return this;
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects. The Matcher supplied for each expected member is
+   * kept and reused for every match.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    memberMatchers.prepare();
+    }
+
+  public boolean matches( Object actual)
+    {
+    return getMemberMatcher( actual).matches();
+    }
+
+  public void describeTo( Description description)
+    {
+    description.appendText(
+      expectedMembers == null?
+      "null" :
+
+      getMemberMismatch()
+      .map( m -> String.format( "At position=%s, %s", m.getIndex(), descriptionOf( m.getMatcher())))
+      .orElse( "Sequence of " + expectedMembers.size() + " members"));
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    MemberMatcher memberMatcher = getMemberMatcher( actual);
+
+    String mismatch =
+      memberMatcher.getIterableMismatch()
+      .orElse(
+        memberMatcher.getMemberMismatch()
+        .map( m -> mismatchFor( m.getMatcher(), m.getActualMember()) + memberMatcher.getContext())
+        .orElse( null));
+
+    if( mismatch != null)
+      {
+      description.appendText( mismatch);
+      }
+    }
+
+  /**
+   * Returns the MemberMatcher for the given actual object, evaluated on the current thread.
+   */
+  private MemberMatcher getMemberMatcher( Object actual)
+    {
+    MemberMatcher current = memberMatcher.get();
+    if( current == null || current.getMatched() != actual)
+      {
+      current = new MemberMatcher( actual);
+      memberMatcher.set( current);
+      }
+
+    return current;
+    }
+
+  /**
+   * Returns any mismatch between a member of a matched Iterable and its counterpart in the expected Iterable.
+   */
+  private Optional<MemberMatch> getMemberMismatch()
+    {
+    MemberMatcher current = memberMatcher.get();
+    return
+      current == null
+      ? Optional.empty()
+      : current.getMemberMismatch();
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
@@ -0,0 +1,475 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Matches an Iterable containing a specified sequence of members, in order.
+ * <P/>
+ * Optionally, given a "member Matcher supplier" function, applies additional detailed match conditions for
+ * Iterable members.  First, for each member of the expected Iterable, a member-specific Matcher is derived by the
+ * given supplier function.  Then each member of a matched Iterable must satisfy the member-specific
+ * Matcher returned for its counterpart in the given expected Iterable.
+ */
+public class ListsMembers<T> extends BaseMatcher<Iterable<T>> implements Preparable
+  {
+  private final List<T> expectedMembers;
+  private final Function<T,Matcher<T>> memberMatcherSupplier;
+  private final MemberMatchers<T> memberMatchers;
+  private int reportLimit = -1;
+  private int diffLimit = -1;
+  private final PerThread<MemberMatcher> memberMatcher = new PerThread<MemberMatcher>();
+
+  /**
+   * Represents the match between a member of a matched Iterable and its counterpart in the expected Iterable.
+   */
+  private class MemberMatch
+    {
+    private final T actualMember;
+    private final Matcher<T> matcher;
+    
+    /**
+     * Creates a new MemberMatch instance.
+     */
+    public MemberMatch( T actualMember, Matcher<T> matcher)
+      {
+      this.actualMember = actualMember;
+      this.matcher = matcher;
+      }
+
+    public T getActualMember()
+      {
+      return actualMember;
+      }
+
+    public Matcher<T> getMatcher()
+      {
+      return matcher;
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[actual=%s, matcher=%s]", getClass().getSimpleName(), actualMember, matcher);
+      }
+    }
+
+  /**
+   * Builds and supplies a {@link ListsMembers} matcher for a specified source Iterable.
+   */
+  public static class Supplier<T,S extends Iterable<T>> implements Function<S,Matcher<S>>
+    {
+    private Function<T,Matcher<T>> memberMatcherSupplier;
+    private int reportLimit = -1;
+    private int diffLimit = -1;
+    
+    /**
+     * Creates a new ListsMembersSupplier that supplies a {@link ListsMembers} matcher using
+     * the given member Matcher supplier.
+     */
+    public Supplier( Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this.memberMatcherSupplier = memberMatcherSupplier;
+      }
+
+    /**
+     * Changes the supplied {@link ListsMembers} matcher to fail fast when a matched Collection has a different size.
+     *
+     * @see ListsMembers#failFast
+     */
+    public Supplier<T,S> failFast( int maxReported)
+      {
+      reportLimit = FailFast.reportLimit( maxReported);
+      return this;
+      }
+
+    /**
+     * Changes the supplied {@link ListsMembers} matcher to describe a mismatch as the differences between sequences.
+     *
+     * @see ListsMembers#diff
+     */
+    public Supplier<T,S> diff( int maxEdits)
+      {
+      diffLimit = maxEdits;
+      return this;
+      }
+
+    /**
+     * Returns the {@link ListsMembers} matcher supplied for the given source Iterable.
+     */
+    @SuppressWarnings("unchecked")
+    public Matcher<S> apply( S source)
+      {
+      ListsMembers<T> matcher = new ListsMembers<T>( source, memberMatcherSupplier);
+      if( reportLimit >= 0)
+        {
+        matcher.failFast( reportLimit);
+        }
+      if( diffLimit >= 0)
+        {
+        matcher.diff( diffLimit);
+        }
+      
+      return (Matcher<S>) matcher;
+      }
+    }
+
+  /**
+   * Matches an actual Iterable with the list of expected members.
+   */
+  private class MemberMatcher
+    {
+    private final Object matched;
+    private final boolean sizeMismatch;
+    private boolean diagnosed;
+    private String iterableMismatch;
+    private MemberMatch memberMismatch;
+    
+    /**
+     * Creates a new MemberMatcher instance.
+     */
+    public MemberMatcher( Object actual)
+      {
+      matched = actual;
+      iterableMismatch = null;
+      memberMismatch = null;
+
+      // When failing fast, the mismatch is diagnosed only when it is described.
+      sizeMismatch = FailFast.isSizeMismatch( reportLimit, expectedMembers, actual);
+
+      if( !sizeMismatch)
+        {
+        diagnose();
+        }
+      }
+
+    /**
+     * Finds any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    @SuppressWarnings("unchecked")
+    private void diagnose()
+      {
+      Object actual = matched;
+      diagnosed = true;
+
+      // Comparing to an actual Iterable?
+      Iterable<T> actualMembers =
+        actual == null?
+        null :
+        
+        Iterable.class.isInstance( actual)?
+        (Iterable<T>) actual :
+
+        Iterator.class.isInstance( actual)?
+        () -> (Iterator<T>) actual :
+
+        actual.getClass().isArray() ?
+        Arrays.asList( (T[]) actual) :
+          
+        null;
+
+      if( actual != null && actualMembers == null)
+        {
+        iterableMismatch = "was not an Iterable";
+        }
+      else
+        {
+        if( actualMembers == null || expectedMembers == null)
+          {
+          // Expected and actual objects have the same "nullity"?
+          matchUnordered( actualMembers == null? null : streamFor( actualMembers).collect( toList()));
+          }
+        else
+          {
+          matchOrdered( actualMembers);
+          }
+        }
+      }
+
+    /**
+     * Walks the expected and actual sequences in lockstep, looking for the first position where they differ.
+     */
+    private void matchOrdered( Iterable<T> actualMembers)
+      {
+      // Collect the actual sequence while visiting, in case a diagnosis is needed.
+      List<T> actualSequence = new ArrayList<T>( expectedMembers.size());
+      int expectedSize = expectedMembers.size();
+      int mismatchPosition = -1;
+      for( T actualMember : actualMembers)
+        {
+        int i = actualSequence.size();
+        actualSequence.add( actualMember);
+
+        if( mismatchPosition < 0)
+          {
+          if( i >= expectedSize || !Objects.equals( actualMember, expectedMembers.get(i)))
+            {
+            mismatchPosition = i;
+            }
+          else if( memberMismatch == null && memberMatcherSupplier != null)
+            {
+            // Does this actual member satisfy the specified member Matcher for its expected member counterpart?
+            MemberMatch memberMatch = new MemberMatch( actualMember, memberMatchers.get(i));
+            if( !memberMatch.getMatcher().matches( actualMember))
+              {
+              memberMismatch = memberMatch;
+              }
+            }
+          }
+        }
+
+      if( mismatchPosition < 0 && actualSequence.size() < expectedSize)
+        {
+        mismatchPosition = actualSequence.size();
+        }
+      
+      if( mismatchPosition >= 0)
+        {
+        // Any member mismatch is relevant only if all actual members are "equals" matches for expected members.
+        memberMismatch = null;
+
+        Optional<List<SequenceDiff.Hunk>> hunks =
+          diffLimit < 0
+          ? Optional.empty()
+          : SequenceDiff.hunks(
+              expectedMembers.size(),
+              actualSequence.size(),
+              diffLimit,
+              (e, a) -> Objects.equals( expectedMembers.get(e), actualSequence.get(a)));
+
+        if( hunks.isPresent())
+          {
+          iterableMismatch = SequenceDiff.describe( hunks.get(), expectedMembers, actualSequence);
+          }
+
+        // Are actual members a 1-to-1 "equals" match for expected members (regardless of order)?
+        else if( matchUnordered( actualSequence))
+          {
+          iterableMismatch =
+            "at index="
+            + mismatchPosition
+            + ", found "
+            + actualSequence.get( mismatchPosition)
+            + " instead of "
+            + expectedMembers.get( mismatchPosition);
+          }
+        }
+      }
+
+    /**
+     * Returns true if the given actual members are a 1-to-1 "equals" match for expected members (regardless of order).
+     * Otherwise, describes the mismatch and returns false.
+     */
+    private boolean matchUnordered( List<T> actualSequence)
+      {
+      ContainsMembers<T> containsMembers = new ContainsMembers<T>( expectedMembers);
+      if( reportLimit >= 0)
+        {
+        containsMembers.failFast( reportLimit);
+        }
+
+      boolean matches = containsMembers.matches( actualSequence);
+      if( !matches)
+        {
+        iterableMismatch = mismatchFor( containsMembers, actualSequence);
+        }
+
+      return matches;
+      }
+
+    /**
+     * Returns the matching result.
+     */
+    public boolean matches()
+      {
+      return !sizeMismatch && !getIterableMismatch().isPresent() && !getMemberMismatch().isPresent();
+      }
+
+    /**
+     * Returns the object matched by this MemberMatcher.
+     */
+    public Object getMatched()
+      {
+      return matched;
+      }
+
+    /**
+     * Returns a description of any mismatch between the expected Iterable and the {@link #getMatched matched} object.
+     */
+    public Optional<String> getIterableMismatch()
+      {
+      if( !diagnosed)
+        {
+        diagnose();
+        }
+      
+      return Optional.ofNullable( iterableMismatch);
+      }
+
+    /**
+     * Returns any mismatch between a member of a matched Iterable and its counterpart in the expected Iterable.
+     */
+    public Optional<MemberMatch> getMemberMismatch()
+      {
+      if( !diagnosed)
+        {
+        diagnose();
+        }
+      
+      return Optional.ofNullable( memberMismatch);
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), ListsMembers.this.getClass().getSimpleName());
+      }
+    }
+ 
+  /**
+   * Creates a new ListsMembers instance.
+   */
+  public ListsMembers( Iterable<? extends T> expected)
+    {
+    this( expected, null);
+    }
+ 
+  /**
+   * Creates a new ListsMembers instance that adds an additional match condition: each member of a
+   * matched Iterable must satisfy the Matcher returned by the given supplier for its 
+   * counterpart in the given expected Iterable.
+   */
+  public ListsMembers( Iterable<? extends T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this.memberMatcherSupplier = memberMatcherSupplier;
+    
+    expectedMembers =
+      expected == null
+      ? null
+      : streamFor( expected).collect( toList());
+
+    memberMatchers = new MemberMatchers<T>( expectedMembers, memberMatcherSupplier);
+    }
+
+  /**
+   * Changes this matcher to fail fast when a matched Iterable is a Collection of a different size than the
+   * expected Iterable, reporting at most the given maximum number of missing or unexpected members.
+   *
+   * @see ContainsMembers#failFast
+   */
+  public ListsMembers<T> failFast( int maxReported)
+    {
+    reportLimit = FailFast.reportLimit( maxReported);
+    return this;
+    }
+
+  /**
+   * Changes this matcher to describe a mismatch as the differences between the expected and the matched sequences.
+   * Differences are found by computing a minimal edit script and are reported as hunks of missing, unexpected, or changed
+   * members. If more than the given maximum number of edits is needed, the mismatch is reported as usual.
+   */
+  public ListsMembers<T> diff( int maxEdits)
+    {
+    if( maxEdits < 0)
+      {
+      throw new IllegalArgumentException( "Maximum edits must be non-negative");
+      }
+    
+    diffLimit = maxEdits;
+    return this;
+    }
+
+  /**
+   * Prepares this matcher to be applied to many actual objects. The Matcher supplied for each expected member is
+   * kept and reused for every match.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    memberMatchers.prepare();
+    }
+
+  public boolean matches( Object actual)
+    {
+    return getMemberMatcher( actual).matches();
+    }
+
+  public void describeTo( Description description)
+    {
+    description.appendText(
+      expectedMembers == null?
+      "null" :
+
+      getMemberMismatch()
+      .map( m -> "Sequence containing " + descriptionOf( m.getMatcher()))
+      
+      .orElse( "Sequence of " + expectedMembers.size() + " members"));
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    MemberMatcher memberMatcher = getMemberMatcher( actual);
+
+    String mismatch =
+      memberMatcher.getIterableMismatch()
+      .orElse(
+        memberMatcher.getMemberMismatch()
+        .map( m -> mismatchFor( m.getMatcher(), m.getActualMember()))
+        .orElse( null));
+
+    if( mismatch != null)
+      {
+      description.appendText( mismatch);
+      }
+    }
+
+  /**
+   * Returns the MemberMatcher for the given actual object, evaluated on the current thread.
+   */
+  private MemberMatcher getMemberMatcher( Object actual)
+    {
+    MemberMatcher current = memberMatcher.get();
+    if( current == null || current.getMatched() != actual)
+      {
+      current = new MemberMatcher( actual);
+      memberMatcher.set( current);
+      }
+
+    return current;
+    }
+
+  /**
+   * Returns any mismatch between a member of a matched Iterable and its counterpart in the expected Iterable.
+   */
+  private Optional<MemberMatch> getMemberMismatch()
+    {
+    MemberMatcher current = memberMatcher.get();
+    return
+      current == null
+      ? Optional.empty()
+      : current.getMemberMismatch();
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
@@ -0,0 +1,233 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.Matcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Walks an expected sequence and an actual sequence in lockstep, stopping at the first position where they differ.
+ * Neither sequence is collected. Only a small number of the most recently matched actual members are retained, to
+ * give context for any mismatch.
+ */
+final class LockstepWalk<T>
+  {
+  private final int contextSize;
+  private final Deque<T> context;
+  private int position;
+  private T expectedMember;
+  private T actualMember;
+  private Matcher<T> memberMatcher;
+  private boolean memberMismatch;
+  private List<T> remaining;
+  private int remainingCount;
+  private boolean missing;
+  private boolean unexpected;
+
+  /**
+   * Supplies the Matcher for an expected member, given its position.
+   */
+  @FunctionalInterface
+  interface MemberMatcherSource<T>
+    {
+    Matcher<T> matcherFor( int position, T expectedMember);
+    }
+
+  /**
+   * Creates a new LockstepWalk instance.
+   */
+  private LockstepWalk( int contextSize)
+    {
+    this.contextSize = contextSize;
+    this.context = new ArrayDeque<T>( contextSize + 1);
+    }
+
+  /**
+   * Walks the given expected and actual members in lockstep. If <CODE>equalsRequired</CODE> is true, each actual member
+   * must be equal to its expected counterpart. If the given member Matcher source is non-null, each actual member must
+   * also satisfy the Matcher supplied for its expected counterpart. At most <CODE>contextSize</CODE> matched actual members are
+   * retained for context. Any remaining members are listed up to the usual {@link CompositeUtils#MAX_LISTED_MEMBERS limit}.
+   */
+  public static <T> LockstepWalk<T> walk( Iterator<T> expected, Iterator<T> actual, int contextSize, boolean equalsRequired, MemberMatcherSource<T> memberMatcherSource)
+    {
+    LockstepWalk<T> walk = new LockstepWalk<T>( contextSize);
+
+    boolean matching = true;
+    while( matching && expected.hasNext() && actual.hasNext())
+      {
+      T expectedMember = expected.next();
+      T actualMember = actual.next();
+
+      Matcher<T> matcher = null;
+      matching =
+        (!equalsRequired || Objects.equals( expectedMember, actualMember))
+        && (memberMatcherSource == null || (matcher = memberMatcherSource.matcherFor( walk.position, expectedMember)).matches( actualMember));
+
+      if( matching)
+        {
+        walk.visited( actualMember);
+        }
+      else
+        {
+        walk.memberMismatch = true;
+        walk.expectedMember = expectedMember;
+        walk.actualMember = actualMember;
+        walk.memberMatcher = matcher;
+        }
+      }
+
+    if( matching)
+      {
+      walk.missing = walk.remaining( expected);
+      walk.unexpected = walk.remaining( actual);
+      }
+    
+    return walk;
+    }
+
+  /**
+   * Returns the position of the first mismatch.
+   */
+  public int getPosition()
+    {
+    return position;
+    }
+
+  /**
+   * Returns true if no mismatch was found.
+   */
+  public boolean matches()
+    {
+    return !memberMismatch && !missing && !unexpected;
+    }
+
+  /**
+   * Returns true if a pair of members at the same position did not match.
+   */
+  public boolean isMemberMismatch()
+    {
+    return memberMismatch;
+    }
+
+  /**
+   * Returns the number of expected members, if known. Otherwise, if the walk stopped before the end of the
+   * expected sequence, returns -1.
+   */
+  public int getExpectedSize()
+    {
+    return
+      memberMismatch? -1 :
+      missing? position + remainingCount :
+      position;
+    }
+
+  /**
+   * Returns the expected member at the position of the first mismatch.
+   */
+  public T getExpectedMember()
+    {
+    return expectedMember;
+    }
+
+  /**
+   * Returns the actual member at the position of the first mismatch.
+   */
+  public T getActualMember()
+    {
+    return actualMember;
+    }
+
+  /**
+   * Returns the Matcher not satisfied by the actual member at the position of the first mismatch, if any.
+   */
+  public Optional<Matcher<T>> getMemberMatcher()
+    {
+    return Optional.ofNullable( memberMatcher);
+    }
+
+  /**
+   * If one sequence ended before the other, returns a description of the remaining members of the other sequence.
+   */
+  public Optional<String> getRemainingMismatch()
+    {
+    return
+      !(missing || unexpected)?
+      Optional.empty() :
+
+      Optional.of(
+        String.format(
+          "%s %s members=[%s] starting at position=%s",
+          missing? "was missing" : "had",
+          missing? String.valueOf( remainingCount) : remainingCount + " unexpected",
+          membersToString( remaining, remainingCount, MAX_LISTED_MEMBERS, m -> m),
+          position));
+    }
+
+  /**
+   * Returns a description of the matched actual members preceding the first mismatch.
+   */
+  public String getContext()
+    {
+    return
+      context.isEmpty()
+      ? ""
+      : "\n     after: [" + membersToString( new ArrayList<T>( context), context.size(), contextSize, m -> m) + "]";
+    }
+
+  /**
+   * Records a matched actual member.
+   */
+  private void visited( T member)
+    {
+    if( contextSize > 0)
+      {
+      if( context.size() == contextSize)
+        {
+        context.removeFirst();
+        }
+      context.addLast( member);
+      }
+    position++;
+    }
+
+  /**
+   * Counts the remaining members of the given sequence, retaining only the first few. Returns true if any members remain.
+   */
+  private boolean remaining( Iterator<T> members)
+    {
+    if( members.hasNext())
+      {
+      remaining = new ArrayList<T>();
+      remainingCount = 0;
+      while( members.hasNext())
+        {
+        T member = members.next();
+        if( remainingCount++ < MAX_LISTED_MEMBERS)
+          {
+          remaining.add( member);
+          }
+        }
+      }
+
+    return remainingCount > 0;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[position=%s]", getClass().getSimpleName(), position);
+    }
+  }
@@ -0,0 +1,98 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.Matcher;
+
+import java.util.Optional;
+
+/**
+ * The immutable result of applying a Matcher to an actual object.
+ * <P/>
+ * Composite matchers can be shared by multiple threads: each thread sees only the results of its own matches. So a
+ * single Matcher for an expected object can be built once and then applied to many actual objects concurrently,
+ * using {@link #of MatchResult.of()} to capture the result of each match, including any mismatch description.
+ * <P/>
+ * A composite matcher is not stateless. Each call to <CODE>matches()</CODE> records its evaluation in state that
+ * belongs to the calling thread, and <CODE>describeMismatch()</CODE> describes the last match made on the same thread.
+ * The state of the first thread to use a matcher is held in a field. The state of any other thread is held in a
+ * concurrent map shared by those threads. A MatchResult captures the description as soon as the match is made, so
+ * later matches don't affect it.
+ * <P/>
+ * A {@link VisitsList} matcher is the exception. It consumes its expected Iterator, and in streaming mode it keeps
+ * its walk in plain fields, so it must not be shared across threads.
+ */
+public final class MatchResult
+  {
+  private final Object actual;
+  private final String expectedDescription;
+  private final String mismatch;
+
+  /**
+   * Creates a new MatchResult instance.
+   */
+  private MatchResult( Object actual, String expectedDescription, String mismatch)
+    {
+    this.actual = actual;
+    this.expectedDescription = expectedDescription;
+    this.mismatch = mismatch;
+    }
+
+  /**
+   * Returns the result of applying the given Matcher to the given actual object.
+   */
+  public static MatchResult of( Matcher<?> matcher, Object actual)
+    {
+    return
+      matcher.matches( actual)
+      ? new MatchResult( actual, null, null)
+      : new MatchResult( actual, descriptionOf( matcher), mismatchFor( matcher, actual));
+    }
+
+  /**
+   * Returns the actual object matched.
+   */
+  public Object getActual()
+    {
+    return actual;
+    }
+
+  /**
+   * Returns if the actual object satisfied the Matcher.
+   */
+  public boolean matches()
+    {
+    return expectedDescription == null;
+    }
+
+  /**
+   * If the actual object did not satisfy the Matcher, returns a description of the expected object.
+   */
+  public Optional<String> getExpected()
+    {
+    return Optional.ofNullable( expectedDescription);
+    }
+
+  /**
+   * If the actual object did not satisfy the Matcher, returns a description of the mismatch.
+   */
+  public Optional<String> getMismatch()
+    {
+    return Optional.ofNullable( mismatch);
+    }
+
+  public String toString()
+    {
+    return
+      matches()
+      ? String.format( "%s[matches]", getClass().getSimpleName())
+      : String.format( "%s[expected=%s, but: %s]", getClass().getSimpleName(), expectedDescription, mismatch);
+    }
+  }
@@ -0,0 +1,232 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the composite matches in progress on the current thread, so that a match that revisits the same
+ * pair of expected and actual objects can be detected.
+ * <P/>
+ * Each match is identified by a key that describes the comparison made by the Matcher and by the identities of the
+ * expected and actual objects.
+ * When an object graph contains a cycle, such as a back-reference from child to parent, matching it will
+ * eventually revisit a match that is already in progress. The revisited match is then assumed to succeed, so that
+ * the result depends only on the other differences found along the cycle.
+ * <P/>
+ * A MatchStack can also remember the results of completed matches until the outermost match is complete, so that
+ * a shared pair of objects reached by many paths is compared only once. A failure can always be remembered. But a
+ * success can be remembered only if it does not depend on the assumption that an enclosing match succeeds.
+ */
+final class MatchStack
+  {
+  private static final ThreadLocal<MatchStack> current = ThreadLocal.withInitial( MatchStack::new);
+
+  /**
+   * Matches at lower depths are found by comparing identities directly. Deeper matches are found by hashing.
+   */
+  private static final int SCANNED_DEPTH = 32;
+
+  /**
+   * Indicates that no match in progress has been assumed to succeed.
+   */
+  private static final int NONE = Integer.MAX_VALUE;
+
+  private Object[] matchKeys = new Object[ SCANNED_DEPTH];
+  private Object[] expecteds = new Object[ SCANNED_DEPTH];
+  private Object[] actuals = new Object[ SCANNED_DEPTH];
+  private int[] enclosingAssumed = new int[ SCANNED_DEPTH];
+  private final Map<Visit,Integer> deepPositions = new HashMap<Visit,Integer>();
+  private int depth;
+  private int assumed = NONE;
+  private Map<Visit,Object> results;
+
+  /**
+   * Identifies a match by its Matcher key and by the identities of its expected object and actual object.
+   */
+  private static final class Visit
+    {
+    private final Object matchKey;
+    private final Object expected;
+    private final Object actual;
+
+    /**
+     * Creates a new Visit instance.
+     */
+    public Visit( Object matchKey, Object expected, Object actual)
+      {
+      this.matchKey = matchKey;
+      this.expected = expected;
+      this.actual = actual;
+      }
+
+    public boolean equals( Object object)
+      {
+      Visit other =
+        object instanceof Visit
+        ? (Visit) object
+        : null;
+
+      return
+        other != null
+        && other.actual == actual
+        && other.expected == expected
+        && other.matchKey.equals( matchKey);
+      }
+
+    public int hashCode()
+      {
+      return
+        (matchKey.hashCode() * 31 + System.identityHashCode( expected)) * 31
+        + System.identityHashCode( actual);
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[%s]", getClass().getSimpleName(), matchKey);
+      }
+    }
+
+  /**
+   * Creates a new MatchStack instance.
+   */
+  private MatchStack()
+    {
+    }
+
+  /**
+   * Returns the MatchStack for the current thread.
+   */
+  public static MatchStack current()
+    {
+    return current.get();
+    }
+
+  /**
+   * Records the start of a match identified by the given Matcher key between the given expected and actual objects.
+   * Returns false if this match is already in progress, in which case it is assumed to succeed.
+   */
+  public boolean push( Object matchKey, Object expected, Object actual)
+    {
+    int position = positionOf( matchKey, expected, actual);
+    boolean started = position < 0;
+    if( !started)
+      {
+      assumed = Math.min( assumed, position);
+      }
+    else
+      {
+      if( depth == matchKeys.length)
+        {
+        int size = depth * 2;
+        matchKeys = Arrays.copyOf( matchKeys, size);
+        expecteds = Arrays.copyOf( expecteds, size);
+        actuals = Arrays.copyOf( actuals, size);
+        enclosingAssumed = Arrays.copyOf( enclosingAssumed, size);
+        }
+
+      matchKeys[ depth] = matchKey;
+      expecteds[ depth] = expected;
+      actuals[ depth] = actual;
+      if( depth >= SCANNED_DEPTH)
+        {
+        deepPositions.put( new Visit( matchKey, expected, actual), depth);
+        }
+
+      enclosingAssumed[ depth] = assumed;
+      assumed = NONE;
+      depth++;
+      }
+
+    return started;
+    }
+
+  /**
+   * Records the end of the last match {@link #push started}. Returns true if the result of this match depends
+   * on the assumption that an enclosing match succeeds.
+   */
+  public boolean pop()
+    {
+    int position = --depth;
+    if( position >= SCANNED_DEPTH)
+      {
+      deepPositions.remove( new Visit( matchKeys[ position], expecteds[ position], actuals[ position]));
+      }
+    matchKeys[ position] = null;
+    expecteds[ position] = null;
+    actuals[ position] = null;
+
+    // Only an assumption about an enclosing match remains relevant after this match is complete.
+    boolean dependent = assumed < position;
+    assumed = Math.min( enclosingAssumed[ position], dependent? assumed : NONE);
+
+    if( depth == 0)
+      {
+      results = null;
+      }
+
+    return dependent;
+    }
+
+  /**
+   * Returns the result remembered for a match identified by the given Matcher key between the given expected and
+   * actual objects, or null if no result is remembered.
+   */
+  public Object recall( Object matchKey, Object expected, Object actual)
+    {
+    return
+      results == null
+      ? null
+      : results.get( new Visit( matchKey, expected, actual));
+    }
+
+  /**
+   * Remembers the result of a match identified by the given Matcher key between the given expected and actual
+   * objects, until the outermost match in progress is complete.
+   */
+  public void remember( Object matchKey, Object expected, Object actual, Object result)
+    {
+    if( depth > 0)
+      {
+      if( results == null)
+        {
+        results = new HashMap<Visit,Object>();
+        }
+      results.put( new Visit( matchKey, expected, actual), result);
+      }
+    }
+
+  /**
+   * Returns the position of the given match in progress, or -1 if this match is not in progress.
+   */
+  private int positionOf( Object matchKey, Object expected, Object actual)
+    {
+    int position = -1;
+    for( int i = 0, scanned = Math.min( depth, SCANNED_DEPTH); position < 0 && i < scanned; i++)
+      {
+      if( actuals[i] == actual && expecteds[i] == expected && matchKeys[i].equals( matchKey))
+        {
+        position = i;
+        }
+      }
+
+    if( position < 0 && depth > SCANNED_DEPTH)
+      {
+      position = deepPositions.getOrDefault( new Visit( matchKey, expected, actual), -1);
+      }
+
+    return position;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[%s]", getClass().getSimpleName(), depth);
+    }
+  }
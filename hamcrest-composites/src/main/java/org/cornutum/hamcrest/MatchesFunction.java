@@ -24,13 +24,13 @@ import java.util.function.Function;
  * the values of type <CODE>R</CODE> derived using a specified function. To compare function values,
  * uses a Matcher derived from the source object using a specified "result Matcher supplier" function.
  */
-public class MatchesFunction<T,R> extends BaseMatcher<T>
+public class MatchesFunction<T,R> extends BaseMatcher<T> implements Preparable
   {
   private final String functionName;
   private final Function<T,R> function;
   private final Class<T> sourceClass;
   private final Matcher<R> resultMatcher;
-  private FunctionMatcher functionMatcher;
+  private final PerThread<FunctionMatcher> functionMatcher = new PerThread<FunctionMatcher>();
 
   /**
    * Matches values derived by the function.
@@ -193,6 +193,17 @@ public class MatchesFunction<T,R> extends BaseMatcher<T>
     return functionName;
     }
 
+  /**
+   * Prepares this matcher to be applied to many actual objects. The function result for the source object is derived
+   * only once, when this matcher is created, so only the Matcher for the function result needs to be prepared.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    Preparable.prepare( resultMatcher);
+    }
+
   public boolean matches( Object actual)
     {
     return !getFunctionMatcher( actual).getMismatch().isPresent();
@@ -212,16 +223,18 @@ public class MatchesFunction<T,R> extends BaseMatcher<T>
     }
 
   /**
-   * Returns the FunctionMatcher for the given actual object
+   * Returns the FunctionMatcher for the given actual object, evaluated on the current thread.
    */
   private FunctionMatcher getFunctionMatcher( Object actual)
     {
-    if( functionMatcher == null || functionMatcher.getMatched() != actual)
+    FunctionMatcher current = functionMatcher.get();
+    if( current == null || current.getMatched() != actual)
       {
-      functionMatcher = new FunctionMatcher( actual);
+      current = new FunctionMatcher( actual);
+      functionMatcher.set( current);
       }
 
-    return functionMatcher;
+    return current;
     }
 
   public String toString()
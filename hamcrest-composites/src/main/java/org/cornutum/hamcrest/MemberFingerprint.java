@@ -0,0 +1,98 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An order-independent summary of the members of a collection, computed from the sum and the
+ * exclusive-or of their mixed hash codes.
+ * <P/>
+ * Collections with equal members always have equal fingerprints. So different fingerprints prove that
+ * two collections do not contain the same members. But equal fingerprints do not prove that they do.
+ */
+final class MemberFingerprint
+  {
+  private final int count;
+  private final long sum;
+  private final long xor;
+
+  /**
+   * Creates a new MemberFingerprint instance.
+   */
+  private MemberFingerprint( int count, long sum, long xor)
+    {
+    this.count = count;
+    this.sum = sum;
+    this.xor = xor;
+    }
+
+  /**
+   * Returns the fingerprint of the given members. If the given key function is non-null, members are
+   * represented by their keys.
+   */
+  public static <T> MemberFingerprint of( Iterable<T> members, Function<? super T,?> memberKey)
+    {
+    int count = 0;
+    long sum = 0;
+    long xor = 0;
+    for( T member : members)
+      {
+      long hash = mix( Objects.hashCode( memberKey == null? member : memberKey.apply( member)));
+      sum += hash;
+      xor ^= hash;
+      count++;
+      }
+
+    return new MemberFingerprint( count, sum, xor);
+    }
+
+  /**
+   * Spreads the bits of the given hash code over a 64-bit value, so that similar hash codes are unlikely
+   * to cancel each other out.
+   */
+  private static long mix( int hash)
+    {
+    long h = hash;
+    h ^= (h >>> 33);
+    h *= 0xff51afd7ed558ccdL;
+    h ^= (h >>> 33);
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= (h >>> 33);
+    return h;
+    }
+
+  public boolean equals( Object object)
+    {
+    MemberFingerprint other =
+      object instanceof MemberFingerprint
+      ? (MemberFingerprint) object
+      : null;
+
+    return
+      other != null
+      && other.count == count
+      && other.sum == sum
+      && other.xor == xor;
+    }
+
+  public int hashCode()
+    {
+    return
+      getClass().hashCode()
+      ^ count
+      ^ Long.hashCode( sum)
+      ^ Long.hashCode( xor);
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[count=%s, sum=%x, xor=%x]", getClass().getSimpleName(), count, sum, xor);
+    }
+  }
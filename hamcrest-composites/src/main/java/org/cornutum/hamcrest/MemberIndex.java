@@ -0,0 +1,150 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Indexes the occurrences of each member of an expected collection, so that each member of an actual collection
+ * can be paired with an <CODE>equals</CODE>-matching expected member in constant time. Optionally, members
+ * can be paired using the <CODE>equals</CODE>-matching keys derived by a given function.
+ * <P/>
+ * Equal actual members are paired with equal expected members in the order they occur, which is the same
+ * pairing that results from repeatedly removing the first <CODE>equals</CODE>-matching expected member.
+ * <P/>
+ * A MemberIndex is immutable, so it can be built once for an expected collection and then shared by any number of
+ * matches. Each match pairs actual members using a new {@link Pairing}, which copies only the first unmatched position
+ * and the unmatched count for each distinct key.
+ */
+class MemberIndex<T>
+  {
+  private final List<T> members;
+  private final Function<? super T,?> memberKey;
+  private final Map<Object,Integer> keyIds;
+  private final int[] first;
+  private final int[] count;
+  private final int[] nextPosition;
+
+  /**
+   * Pairs actual members with the members of this index, marking each expected member paired as matched.
+   */
+  public class Pairing
+    {
+    private final int[] unmatchedFirst;
+    private final int[] unmatchedCount;
+
+    /**
+     * Creates a new Pairing instance.
+     */
+    private Pairing()
+      {
+      unmatchedFirst = first.clone();
+      unmatchedCount = count.clone();
+      }
+
+    /**
+     * If the given member matches an unmatched expected member, marks the first such expected member as matched and
+     * returns its position. Otherwise, returns -1.
+     */
+    public int match( T member)
+      {
+      Integer id = keyIds.get( keyOf( member));
+
+      int position;
+      if( id == null || unmatchedCount[ id] == 0)
+        {
+        position = -1;
+        }
+      else
+        {
+        position = unmatchedFirst[ id];
+        unmatchedFirst[ id] = nextPosition[ position];
+        unmatchedCount[ id]--;
+        }
+
+      return position;
+      }
+    }
+
+  /**
+   * Creates a new MemberIndex instance.
+   */
+  public MemberIndex( List<T> members)
+    {
+    this( members, null);
+    }
+
+  /**
+   * Creates a new MemberIndex instance that pairs members using the keys derived by the given function.
+   * If the given function is null, members are paired using <CODE>equals</CODE>.
+   */
+  public MemberIndex( List<T> members, Function<? super T,?> memberKey)
+    {
+    this.members = members;
+    this.memberKey = memberKey;
+
+    int size = members.size();
+    keyIds = new HashMap<Object,Integer>( Math.max( 16, (int) (size / 0.75f) + 1));
+    nextPosition = new int[ size];
+
+    int[] firstOf = new int[ size];
+    int[] lastOf = new int[ size];
+    int[] countOf = new int[ size];
+    for( int i = 0; i < size; i++)
+      {
+      nextPosition[i] = -1;
+
+      Object key = keyOf( members.get(i));
+      Integer id = keyIds.get( key);
+      if( id == null)
+        {
+        id = keyIds.size();
+        keyIds.put( key, id);
+        firstOf[ id] = i;
+        }
+      else
+        {
+        nextPosition[ lastOf[ id]] = i;
+        }
+
+      lastOf[ id] = i;
+      countOf[ id]++;
+      }
+
+    first = Arrays.copyOf( firstOf, keyIds.size());
+    count = Arrays.copyOf( countOf, keyIds.size());
+    }
+
+  /**
+   * Returns a new {@link Pairing} in which all expected members are unmatched.
+   */
+  public Pairing pairing()
+    {
+    return new Pairing();
+    }
+
+  /**
+   * Returns the key used to pair the given member.
+   */
+  private Object keyOf( T member)
+    {
+    return
+      memberKey == null
+      ? member
+      : memberKey.apply( member);
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[members=%s]", getClass().getSimpleName(), members.size());
+    }
+  }
@@ -0,0 +1,74 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.hamcrest.Matcher;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Supplies the Matcher for each member of an expected list. Normally, a new Matcher is supplied for each request.
+ * But once {@link #prepare prepared}, the Matcher supplied for each member is kept and reused for every match.
+ * Because Matchers are safe to share across threads, a kept Matcher can be reused concurrently.
+ */
+final class MemberMatchers<T>
+  {
+  private final List<T> expectedMembers;
+  private final Function<T,Matcher<T>> memberMatcherSupplier;
+  private volatile AtomicReferenceArray<Matcher<T>> prepared;
+
+  /**
+   * Creates a new MemberMatchers instance.
+   */
+  public MemberMatchers( List<T> expectedMembers, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this.expectedMembers = expectedMembers;
+    this.memberMatcherSupplier = memberMatcherSupplier;
+    }
+
+  /**
+   * Returns the Matcher for the expected member at the given position.
+   */
+  public Matcher<T> get( int position)
+    {
+    AtomicReferenceArray<Matcher<T>> kept = prepared;
+    Matcher<T> matcher = kept == null? null : kept.get( position);
+    if( matcher == null)
+      {
+      matcher = memberMatcherSupplier.apply( expectedMembers.get( position));
+      if( kept != null)
+        {
+        // If another thread supplies this Matcher concurrently, use the first one supplied.
+        matcher =
+          kept.compareAndSet( position, null, Preparable.prepared( matcher))
+          ? matcher
+          : kept.get( position);
+        }
+      }
+
+    return matcher;
+    }
+
+  /**
+   * Changes this supplier to keep the Matcher supplied for each member and to prepare it for reuse.
+   */
+  public synchronized void prepare()
+    {
+    if( prepared == null && expectedMembers != null && memberMatcherSupplier != null)
+      {
+      prepared = new AtomicReferenceArray<Matcher<T>>( expectedMembers.size());
+      }
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[prepared=%s]", getClass().getSimpleName(), prepared != null);
+    }
+  }
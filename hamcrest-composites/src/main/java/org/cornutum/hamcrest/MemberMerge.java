@@ -0,0 +1,98 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pairs each member of an actual collection with an expected member that is equal according to a given
+ * Comparator, by sorting both collections and merging them in order. No member hash codes are used.
+ * <P/>
+ * Because sorting is stable, equal actual members are paired with equal expected members in the order they occur,
+ * which is the same pairing produced by a {@link MemberIndex}.
+ */
+final class MemberMerge
+  {
+  /**
+   * Creates a new MemberMerge instance.
+   */
+  private MemberMerge()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Represents a member at a specific position in its collection.
+   */
+  private static class Position<T>
+    {
+    private final T member;
+    private final int index;
+
+    /**
+     * Creates a new Position instance.
+     */
+    public Position( T member, int index)
+      {
+      this.member = member;
+      this.index = index;
+      }
+    }
+
+  /**
+   * Returns the position of the expected member paired with each actual member, or -1 if
+   * an actual member is unexpected.
+   */
+  public static <T> int[] expectedPositions( List<T> expected, List<T> actual, Comparator<? super T> order)
+    {
+    Position<T>[] expectedOrder = sortedPositions( expected, order);
+    Position<T>[] actualOrder = sortedPositions( actual, order);
+
+    int[] expectedPositions = new int[ actualOrder.length];
+    Arrays.fill( expectedPositions, -1);
+
+    for( int e = 0, a = 0; e < expectedOrder.length && a < actualOrder.length; )
+      {
+      int compared = order.compare( expectedOrder[e].member, actualOrder[a].member);
+      if( compared < 0)
+        {
+        e++;
+        }
+      else if( compared > 0)
+        {
+        a++;
+        }
+      else
+        {
+        expectedPositions[ actualOrder[ a++].index] = expectedOrder[ e++].index;
+        }
+      }
+
+    return expectedPositions;
+    }
+
+  /**
+   * Returns the positions of the given members, sorted by member.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static <T> Position<T>[] sortedPositions( List<T> members, Comparator<? super T> order)
+    {
+    Position<T>[] positions = new Position[ members.size()];
+    int i = 0;
+    for( T member : members)
+      {
+      positions[i] = new Position<T>( member, i);
+      i++;
+      }
+
+    Arrays.sort( positions, (p1, p2) -> order.compare( p1.member, p2.member));
+    return positions;
+    }
+  }
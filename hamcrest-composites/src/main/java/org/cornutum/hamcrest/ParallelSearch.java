@@ -0,0 +1,119 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Searches a range of positions in parallel for the lowest position that yields a result.
+ * <P/>
+ * The range is split into chunks that are searched by the tasks of a {@link ForkJoinPool}. Once a result is
+ * found, any chunk that starts after it is skipped, and any chunk in progress stops when it reaches it. So
+ * the result reported is always the same one found by a sequential search.
+ * <P/>
+ * The position found is probed once more by the calling thread, so that the result reported reflects any state
+ * that the probe function keeps for the current thread, such as the last match made by a Matcher.
+ */
+final class ParallelSearch<R>
+  {
+  private final IntFunction<R> probe;
+  private final int chunkSize;
+  private volatile int lowest;
+  private R result;
+
+  /**
+   * Searches one range of positions, splitting it into subranges until each is no larger than a chunk.
+   */
+  @SuppressWarnings("serial")
+  private class Chunk extends RecursiveAction
+    {
+    private final int start;
+    private final int end;
+
+    /**
+     * Creates a new Chunk instance.
+     */
+    public Chunk( int start, int end)
+      {
+      this.start = start;
+      this.end = end;
+      }
+
+    protected void compute()
+      {
+      if( start >= lowest)
+        {
+        // A result has already been found at a lower position.
+        }
+      else if( end - start > chunkSize)
+        {
+        int middle = (start + end) >>> 1;
+        invokeAll( new Chunk( start, middle), new Chunk( middle, end));
+        }
+      else
+        {
+        for( int i = start; i < end && i < lowest; i++)
+          {
+          R probed = probe.apply(i);
+          if( probed != null)
+            {
+            found( i, probed);
+            break;
+            }
+          }
+        }
+      }
+    }
+
+  /**
+   * Creates a new ParallelSearch instance.
+   */
+  private ParallelSearch( int size, int chunkSize, IntFunction<R> probe)
+    {
+    this.probe = probe;
+    this.chunkSize = chunkSize;
+    this.lowest = size;
+    }
+
+  /**
+   * Returns the non-null result of the given probe function for the lowest position in the range [0, size), using the
+   * given pool to probe positions in parallel. Returns <CODE>Optional.empty()</CODE> if the probe function returns
+   * null for all positions.
+   */
+  public static <R> Optional<R> findFirst( int size, ForkJoinPool pool, IntFunction<R> probe)
+    {
+    int chunkSize = Math.max( 1, size / (pool.getParallelism() * 8));
+    ParallelSearch<R> search = new ParallelSearch<R>( size, chunkSize, probe);
+    pool.invoke( search.new Chunk( 0, size));
+
+    return
+      search.result == null
+      ? Optional.empty()
+      : Optional.ofNullable( probe.apply( search.lowest));
+    }
+
+  /**
+   * Records the result found at the given position, unless a result has already been found at a lower position.
+   */
+  private synchronized void found( int position, R probed)
+    {
+    if( position < lowest)
+      {
+      lowest = position;
+      result = probed;
+      }
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[lowest=%s]", getClass().getSimpleName(), lowest);
+    }
+  }
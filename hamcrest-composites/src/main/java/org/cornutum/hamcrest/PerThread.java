@@ -0,0 +1,100 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Holds a separate state for each thread that uses a Matcher.
+ * <P/>
+ * Unlike a <CODE>ThreadLocal</CODE>, the states are held by this object, not by each thread. So a state can refer to
+ * the Matcher that holds it, without keeping the Matcher reachable from the thread after the Matcher is discarded.
+ * <P/>
+ * Most Matchers are used by only one thread, so the state of the first thread is held in a field of its own. The states
+ * of any other threads are held in a map, which releases the state of a thread that has ended when more threads
+ * have used this object.
+ */
+final class PerThread<S>
+  {
+  private static final int MIN_PRUNE_SIZE = 16;
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<PerThread,Thread> OWNER =
+    AtomicReferenceFieldUpdater.newUpdater( PerThread.class, Thread.class, "owner");
+
+  private volatile Thread owner;
+  private S ownerState;
+  private volatile Map<Thread,S> others;
+  private volatile int pruneSize = MIN_PRUNE_SIZE;
+
+  /**
+   * Returns the state of the current thread, or null if no state has been set.
+   */
+  public S get()
+    {
+    Thread current = Thread.currentThread();
+    Map<Thread,S> otherStates;
+    return
+      owner == current?
+      ownerState :
+
+      (otherStates = others) == null?
+      null :
+
+      otherStates.get( current);
+    }
+
+  /**
+   * Changes the state of the current thread.
+   */
+  public void set( S state)
+    {
+    Thread current = Thread.currentThread();
+    if( owner == current || (owner == null && OWNER.compareAndSet( this, null, current)))
+      {
+      // Only the owner thread accesses its own state.
+      ownerState = state;
+      }
+    else
+      {
+      Map<Thread,S> otherStates = others;
+      if( otherStates == null)
+        {
+        otherStates = getOthers();
+        }
+      otherStates.put( current, state);
+
+      if( otherStates.size() > pruneSize)
+        {
+        // Release the states of any threads that have ended.
+        otherStates.keySet().removeIf( thread -> !thread.isAlive());
+        pruneSize = Math.max( MIN_PRUNE_SIZE, otherStates.size() * 2);
+        }
+      }
+    }
+
+  /**
+   * Returns the states of threads other than the owner, creating the map when first needed.
+   */
+  private synchronized Map<Thread,S> getOthers()
+    {
+    if( others == null)
+      {
+      others = new ConcurrentHashMap<Thread,S>();
+      }
+
+    return others;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[%s]", getClass().getSimpleName(), owner);
+    }
+  }
@@ -0,0 +1,43 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+/**
+ * A Matcher that can be prepared to be applied to many actual objects, by reusing everything it derives from its
+ * expected object, including the Matchers it supplies for the members or properties of the expected object.
+ *
+ * @see PreparedMatcher
+ */
+interface Preparable
+  {
+  /**
+   * Prepares this Matcher to be applied to many actual objects. Any Matcher supplied by this Matcher
+   * after it is prepared is also prepared.
+   */
+  void prepare();
+
+  /**
+   * If the given Matcher is {@link Preparable}, prepares it to be applied to many actual objects.
+   */
+  static void prepare( Object matcher)
+    {
+    if( matcher instanceof Preparable)
+      {
+      ((Preparable) matcher).prepare();
+      }
+    }
+
+  /**
+   * Returns the given Matcher, after preparing it to be applied to many actual objects.
+   */
+  static <M> M prepared( M matcher)
+    {
+    prepare( matcher);
+    return matcher;
+    }
+  }
@@ -0,0 +1,155 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Applies a Matcher that has been prepared to verify many actual objects against the same expected object.
+ * <P/>
+ * When a composite matcher is prepared, everything it derives from its expected object is derived only once and
+ * then reused for every match: the Matchers supplied for the properties, members, and entries of the expected object,
+ * the function results they compare, and the index used to pair actual and expected members. Without preparation,
+ * these are derived again for each match.
+ * <P/>
+ * Use {@link #matchAll matchAll()} to capture the {@link MatchResult} for each of a collection of actual objects,
+ * optionally matching them in {@link #parallel parallel}. A PreparedMatcher is also an ordinary Matcher that can be
+ * used in an assertion.
+ */
+public class PreparedMatcher<T> extends BaseMatcher<T>
+  {
+  private final Matcher<T> matcher;
+  private ForkJoinPool parallelPool;
+
+  /**
+   * Matches one range of actual objects, splitting it into subranges until each is no larger than a chunk.
+   */
+  @SuppressWarnings("serial")
+  private class MatchAll extends RecursiveAction
+    {
+    private final List<?> actuals;
+    private final MatchResult[] results;
+    private final int chunkSize;
+    private final int start;
+    private final int end;
+
+    /**
+     * Creates a new MatchAll instance.
+     */
+    public MatchAll( List<?> actuals, MatchResult[] results, int chunkSize, int start, int end)
+      {
+      this.actuals = actuals;
+      this.results = results;
+      this.chunkSize = chunkSize;
+      this.start = start;
+      this.end = end;
+      }
+
+    protected void compute()
+      {
+      if( end - start > chunkSize)
+        {
+        int middle = (start + end) >>> 1;
+        invokeAll(
+          new MatchAll( actuals, results, chunkSize, start, middle),
+          new MatchAll( actuals, results, chunkSize, middle, end));
+        }
+      else
+        {
+        for( int i = start; i < end; i++)
+          {
+          results[i] = MatchResult.of( matcher, actuals.get(i));
+          }
+        }
+      }
+    }
+
+  /**
+   * Creates a new PreparedMatcher instance that prepares the given Matcher to be applied to many actual objects.
+   */
+  public PreparedMatcher( Matcher<T> matcher)
+    {
+    this.matcher = Preparable.prepared( matcher);
+    }
+
+  /**
+   * Changes this matcher to {@link #matchAll match all} actual objects in parallel, using the common {@link ForkJoinPool}.
+   *
+   * @see #parallel(ForkJoinPool)
+   */
+  public PreparedMatcher<T> parallel()
+    {
+    return parallel( ForkJoinPool.commonPool());
+    }
+
+  /**
+   * Changes this matcher to {@link #matchAll match all} actual objects in parallel, using the given {@link ForkJoinPool}.
+   * The actual objects are split into chunks that are matched concurrently by the same prepared Matcher. Results are
+   * always returned in the same order as the actual objects.
+   */
+  public PreparedMatcher<T> parallel( ForkJoinPool pool)
+    {
+    parallelPool = pool;
+    return this;
+    }
+
+  /**
+   * Returns the result of applying the prepared Matcher to each of the given actual objects, in the same order.
+   */
+  public List<MatchResult> matchAll( Iterable<?> actuals)
+    {
+    List<?> actualList = streamFor( actuals).collect( toList());
+    MatchResult[] results = new MatchResult[ actualList.size()];
+
+    if( parallelPool == null)
+      {
+      for( int i = 0; i < results.length; i++)
+        {
+        results[i] = MatchResult.of( matcher, actualList.get(i));
+        }
+      }
+    else
+      {
+      int chunkSize = Math.max( 1, results.length / (parallelPool.getParallelism() * 8));
+      parallelPool.invoke( new MatchAll( actualList, results, chunkSize, 0, results.length));
+      }
+
+    return Collections.unmodifiableList( Arrays.asList( results));
+    }
+
+  public boolean matches( Object actual)
+    {
+    return matcher.matches( actual);
+    }
+
+  public void describeTo( Description description)
+    {
+    matcher.describeTo( description);
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    matcher.describeMismatch( actual, description);
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[%s]", getClass().getSimpleName(), matcher);
+    }
+  }
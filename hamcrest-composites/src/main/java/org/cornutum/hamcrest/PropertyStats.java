@@ -0,0 +1,106 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Records the observed cost and failure rate of each Matcher applied by a {@link BaseCompositeMatcher} class,
+ * and derives the order in which they are most cheaply applied.
+ * <P/>
+ * Matchers are ordered by their expected cost to find a mismatch, i.e. the mean evaluation time divided by the
+ * (smoothed) failure rate, so that cheap, frequently failing Matchers are applied first. Matchers not yet
+ * evaluated are applied first, to learn their cost.
+ */
+final class PropertyStats
+  {
+  private static final int REORDER_INTERVAL = 64;
+
+  private final AtomicLongArray evaluations;
+  private final AtomicLongArray nanos;
+  private final AtomicLongArray failures;
+  private final AtomicLong recorded;
+  private volatile int[] order;
+
+  /**
+   * Creates a new PropertyStats instance for the given number of Matchers.
+   */
+  public PropertyStats( int size)
+    {
+    evaluations = new AtomicLongArray( size);
+    nanos = new AtomicLongArray( size);
+    failures = new AtomicLongArray( size);
+    recorded = new AtomicLong();
+    order = IntStream.range( 0, size).toArray();
+    }
+
+  /**
+   * Returns the number of Matchers recorded.
+   */
+  public int size()
+    {
+    return order.length;
+    }
+
+  /**
+   * Returns the declared positions of the Matchers, in the order they should be applied.
+   */
+  public int[] getOrder()
+    {
+    return order;
+    }
+
+  /**
+   * Records an evaluation of the Matcher at the given declared position.
+   */
+  public void record( int position, long elapsedNanos, boolean failed)
+    {
+    evaluations.incrementAndGet( position);
+    nanos.addAndGet( position, elapsedNanos);
+    if( failed)
+      {
+      failures.incrementAndGet( position);
+      }
+
+    if( recorded.incrementAndGet() % REORDER_INTERVAL == 0)
+      {
+      reorder();
+      }
+    }
+
+  /**
+   * Updates the order in which Matchers are applied.
+   */
+  private void reorder()
+    {
+    double[] costs = new double[ size()];
+    for( int i = 0; i < costs.length; i++)
+      {
+      long evaluated = evaluations.get(i);
+      costs[i] =
+        evaluated == 0
+        ? 0.0
+        : ((double) nanos.get(i) / evaluated) * (evaluated + 2) / (failures.get(i) + 1);
+      }
+
+    order =
+      IntStream.range( 0, costs.length)
+      .boxed()
+      .sorted( Comparator.<Integer>comparingDouble( i -> costs[i]).thenComparingInt( i -> i))
+      .mapToInt( Integer::intValue)
+      .toArray();
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[%s]", getClass().getSimpleName(), recorded.get());
+    }
+  }
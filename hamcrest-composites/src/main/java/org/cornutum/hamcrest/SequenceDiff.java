@@ -0,0 +1,349 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds the differences between an expected sequence and an actual sequence, using the linear-space
+ * variant of Myers' O((N+M)D) algorithm to find a minimal edit script.
+ * <P/>
+ * Differences are reported as a list of {@link Hunk hunks}, each of which replaces a run of expected members
+ * with a run of actual members.
+ */
+final class SequenceDiff
+  {
+  private final Equivalence equivalence;
+  private final List<Hunk> hunks;
+
+  /**
+   * Compares an expected member and an actual member, given their positions.
+   */
+  @FunctionalInterface
+  interface Equivalence
+    {
+    boolean test( int expected, int actual);
+    }
+
+  /**
+   * Represents a run of expected members that is replaced by a run of actual members. Either run may be empty.
+   */
+  static class Hunk
+    {
+    private final int expectedStart;
+    private int expectedEnd;
+    private final int actualStart;
+    private int actualEnd;
+
+    /**
+     * Creates a new Hunk instance.
+     */
+    private Hunk( int expectedStart, int expectedEnd, int actualStart, int actualEnd)
+      {
+      this.expectedStart = expectedStart;
+      this.expectedEnd = expectedEnd;
+      this.actualStart = actualStart;
+      this.actualEnd = actualEnd;
+      }
+
+    public int getExpectedStart()
+      {
+      return expectedStart;
+      }
+
+    public int getExpectedEnd()
+      {
+      return expectedEnd;
+      }
+
+    public int getActualStart()
+      {
+      return actualStart;
+      }
+
+    public int getActualEnd()
+      {
+      return actualEnd;
+      }
+
+    /**
+     * Returns the number of edits made by this hunk.
+     */
+    public int getEdits()
+      {
+      return (expectedEnd - expectedStart) + (actualEnd - actualStart);
+      }
+
+    public String toString()
+      {
+      return String.format( "%s[expected=%s..%s, actual=%s..%s]", getClass().getSimpleName(), expectedStart, expectedEnd, actualStart, actualEnd);
+      }
+    }
+
+  /**
+   * Creates a new SequenceDiff instance.
+   */
+  private SequenceDiff( Equivalence equivalence)
+    {
+    this.equivalence = equivalence;
+    this.hunks = new ArrayList<Hunk>();
+    }
+
+  /**
+   * Returns the hunks that change the expected sequence into the actual sequence, or an empty list if the sequences are
+   * equivalent. If more than the given maximum number of edits is needed, returns <CODE>Optional.empty()</CODE>.
+   */
+  public static Optional<List<Hunk>> hunks( int expectedSize, int actualSize, int maxEdits, Equivalence equivalence)
+    {
+    SequenceDiff diff = new SequenceDiff( equivalence);
+    boolean found = diff.compare( 0, expectedSize, 0, actualSize, maxEdits);
+
+    return
+      found && diff.hunks.stream().mapToInt( Hunk::getEdits).sum() <= maxEdits
+      ? Optional.of( diff.hunks)
+      : Optional.empty();
+    }
+
+  /**
+   * Returns a description of the given hunks, which change the given expected sequence into the given actual sequence.
+   */
+  public static String describe( List<Hunk> hunks, List<?> expected, List<?> actual)
+    {
+    StringBuilder description = new StringBuilder();
+    description
+      .append( "differed in ")
+      .append( hunks.size())
+      .append( " hunks:");
+
+    int listed = Math.min( MAX_LISTED_MEMBERS, hunks.size());
+    for( int i = 0; i < listed; i++)
+      {
+      Hunk hunk = hunks.get(i);
+      List<?> missing = expected.subList( hunk.getExpectedStart(), hunk.getExpectedEnd());
+      List<?> unexpected = actual.subList( hunk.getActualStart(), hunk.getActualEnd());
+
+      description
+        .append( "\n     at index=")
+        .append( hunk.getActualStart())
+        .append( ", ");
+
+      if( unexpected.isEmpty())
+        {
+        description.append( "was missing [").append( membersToString( missing)).append( "]");
+        }
+      else if( missing.isEmpty())
+        {
+        description.append( "had unexpected [").append( membersToString( unexpected)).append( "]");
+        }
+      else
+        {
+        description
+          .append( "found [").append( membersToString( unexpected)).append( "]")
+          .append( " instead of [").append( membersToString( missing)).append( "]");
+        }
+      }
+
+    if( hunks.size() > listed)
+      {
+      description
+        .append( "\n     ... and ")
+        .append( hunks.size() - listed)
+        .append( " more");
+      }
+
+    return description.toString();
+    }
+
+  /**
+   * Adds the hunks that change the given range of expected members into the given range of actual members.
+   * Returns false if more than the given maximum number of edits is needed.
+   */
+  private boolean compare( int expectedStart, int expectedEnd, int actualStart, int actualEnd, int maxEdits)
+    {
+    // Skip any common prefix...
+    while( expectedStart < expectedEnd && actualStart < actualEnd && equivalence.test( expectedStart, actualStart))
+      {
+      expectedStart++;
+      actualStart++;
+      }
+
+    // ... and any common suffix.
+    while( expectedStart < expectedEnd && actualStart < actualEnd && equivalence.test( expectedEnd - 1, actualEnd - 1))
+      {
+      expectedEnd--;
+      actualEnd--;
+      }
+
+    boolean found = true;
+    if( expectedStart == expectedEnd || actualStart == actualEnd)
+      {
+      addHunk( expectedStart, expectedEnd, actualStart, actualEnd);
+      }
+    else
+      {
+      int[] middle = middle( expectedStart, expectedEnd, actualStart, actualEnd, maxEdits);
+      if( middle == null)
+        {
+        found = false;
+        }
+      else if( middle[0] < 0)
+        {
+        // No common members.
+        addHunk( expectedStart, expectedEnd, actualStart, actualEnd);
+        }
+      else
+        {
+        // Both halves of the shortest edit path need fewer edits, so no further limit is needed.
+        compare( expectedStart, middle[0], actualStart, middle[1], Integer.MAX_VALUE);
+        compare( middle[0], expectedEnd, middle[1], actualEnd, Integer.MAX_VALUE);
+        }
+      }
+
+    return found;
+    }
+
+  /**
+   * Returns the point where the forward and reverse shortest edit paths between the given ranges overlap, as an
+   * array containing the expected and actual positions. Returns <CODE>{-1, -1}</CODE> if the ranges have no members in
+   * common, or null if more than the given maximum number of edits is needed.
+   */
+  private int[] middle( int expectedStart, int expectedEnd, int actualStart, int actualEnd, int maxEdits)
+    {
+    int n = expectedEnd - expectedStart;
+    int m = actualEnd - actualStart;
+    int maxDepth = (n + m + 1) / 2;
+    int offset = maxDepth;
+    int length = 2 * maxDepth + 2;
+    int[] forward = new int[ length];
+    int[] reverse = new int[ length];
+    Arrays.fill( forward, -1);
+    Arrays.fill( reverse, -1);
+    forward[ offset + 1] = 0;
+    reverse[ offset + 1] = 0;
+
+    int delta = n - m;
+    boolean odd = delta % 2 != 0;
+    int forwardStart = 0;
+    int forwardEnd = 0;
+    int reverseStart = 0;
+    int reverseEnd = 0;
+
+    // Each pass extends both paths by one more edit.
+    int depthLimit = maxEdits / 2 + 1;
+    for( int d = 0; d < maxDepth; d++)
+      {
+      if( d > depthLimit)
+        {
+        return null;
+        }
+
+      for( int k = -d + forwardStart; k <= d - forwardEnd; k += 2)
+        {
+        int kOffset = offset + k;
+        int x =
+          k == -d || (k != d && forward[ kOffset - 1] < forward[ kOffset + 1])
+          ? forward[ kOffset + 1]
+          : forward[ kOffset - 1] + 1;
+        int y = x - k;
+        while( x < n && y < m && equivalence.test( expectedStart + x, actualStart + y))
+          {
+          x++;
+          y++;
+          }
+        forward[ kOffset] = x;
+
+        if( x > n)
+          {
+          forwardEnd += 2;
+          }
+        else if( y > m)
+          {
+          forwardStart += 2;
+          }
+        else if( odd)
+          {
+          int reverseOffset = offset + delta - k;
+          if( reverseOffset >= 0 && reverseOffset < length && reverse[ reverseOffset] != -1 && x >= n - reverse[ reverseOffset])
+            {
+            return new int[]{ expectedStart + x, actualStart + y};
+            }
+          }
+        }
+
+      for( int k = -d + reverseStart; k <= d - reverseEnd; k += 2)
+        {
+        int kOffset = offset + k;
+        int x =
+          k == -d || (k != d && reverse[ kOffset - 1] < reverse[ kOffset + 1])
+          ? reverse[ kOffset + 1]
+          : reverse[ kOffset - 1] + 1;
+        int y = x - k;
+        while( x < n && y < m && equivalence.test( expectedEnd - x - 1, actualEnd - y - 1))
+          {
+          x++;
+          y++;
+          }
+        reverse[ kOffset] = x;
+
+        if( x > n)
+          {
+          reverseEnd += 2;
+          }
+        else if( y > m)
+          {
+          reverseStart += 2;
+          }
+        else if( !odd)
+          {
+          int forwardOffset = offset + delta - k;
+          if( forwardOffset >= 0 && forwardOffset < length && forward[ forwardOffset] != -1)
+            {
+            int forwardX = forward[ forwardOffset];
+            int forwardY = offset + forwardX - forwardOffset;
+            if( forwardX >= n - x)
+              {
+              return new int[]{ expectedStart + forwardX, actualStart + forwardY};
+              }
+            }
+          }
+        }
+      }
+
+    return n + m <= maxEdits? new int[]{ -1, -1} : null;
+    }
+
+  /**
+   * Adds a hunk that changes the given range of expected members into the given range of actual members.
+   */
+  private void addHunk( int expectedStart, int expectedEnd, int actualStart, int actualEnd)
+    {
+    if( expectedStart < expectedEnd || actualStart < actualEnd)
+      {
+      Hunk last = hunks.isEmpty()? null : hunks.get( hunks.size() - 1);
+      if( last != null && last.expectedEnd == expectedStart && last.actualEnd == actualStart)
+        {
+        last.expectedEnd = expectedEnd;
+        last.actualEnd = actualEnd;
+        }
+      else
+        {
+        hunks.add( new Hunk( expectedStart, expectedEnd, actualStart, actualEnd));
+        }
+      }
+    }
+
+  public String toString()
+    {
+    return String.format( "%s%s", getClass().getSimpleName(), hunks);
+    }
+  }
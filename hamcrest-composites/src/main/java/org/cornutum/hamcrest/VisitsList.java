@@ -0,0 +1,253 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import static org.cornutum.hamcrest.CompositeUtils.*;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Matches an Iterator that visits a specified sequence of members (in order).
+ * <P/>
+ * Optionally, given a "member Matcher supplier" function, applies additional detailed match conditions for
+ * sequence members.  First, for each member of the expected sequence, a member-specific Matcher is derived by the
+ * given supplier function.  Then each member of a matched sequence must satisfy the member-specific
+ * Matcher returned for its counterpart in the given expected sequence.
+ * <P/>
+ * Because the expected Iterator can be visited only once, a VisitsList matcher is not thread-safe and must not be
+ * shared across threads.
+ */
+public class VisitsList<T> extends BaseMatcher<Iterator<T>>
+  {
+  private final Iterator<T> expectedMembers;
+  private final Function<T,Matcher<T>> memberMatcherSupplier;
+  private int streamingContext = -1;
+  private ListsMembers<T> listsMembers;
+  private boolean visited;
+  private Object matched;
+  private String sequenceMismatch;
+  private LockstepWalk<T> walk;
+  
+  /**
+   * Builds and supplies a {@link VisitsList} matcher for a specified source Iterator.
+   */
+  public static class Supplier<T> implements Function<Iterator<T>,Matcher<Iterator<T>>>
+    {
+    private Function<T,Matcher<T>> memberMatcherSupplier;
+    private int streamingContext = -1;
+    
+    /**
+     * Creates a new VisitsListSupplier that supplies a {@link VisitsList} matcher using
+     * the given member Matcher supplier.
+     */
+    public Supplier( Function<T,Matcher<T>> memberMatcherSupplier)
+      {
+      this.memberMatcherSupplier = memberMatcherSupplier;
+      }
+
+    /**
+     * Changes the supplied {@link VisitsList} matcher to visit both sequences in lockstep.
+     *
+     * @see VisitsList#streaming
+     */
+    public Supplier<T> streaming( int contextSize)
+      {
+      streamingContext = contextSize;
+      return this;
+      }
+
+    /**
+     * Returns the {@link VisitsList} matcher supplied for the given source Iterator.
+     */
+    public Matcher<Iterator<T>> apply( Iterator<T> source)
+      {
+      VisitsList<T> matcher = new VisitsList<T>( source, memberMatcherSupplier);
+      if( streamingContext >= 0)
+        {
+        matcher.streaming( streamingContext);
+        }
+
+      return matcher;
+      }
+    }
+ 
+  /**
+   * Creates a new VisitsList instance.
+   */
+  public VisitsList( Iterator<T> expected)
+    {
+    this( expected, null);
+    }
+ 
+  /**
+   * Creates a new VisitsList instance that adds an additional match condition: each member of a
+   * matched sequence must satisfy the Matcher returned by the given supplier for its 
+   * counterpart in the given expected sequence.
+   */
+  public VisitsList( Iterator<T> expected, Function<T,Matcher<T>> memberMatcherSupplier)
+    {
+    this.expectedMembers = expected;
+    this.memberMatcherSupplier = memberMatcherSupplier;
+    }
+
+  /**
+   * Changes this matcher to visit the expected sequence and a matched sequence in lockstep, without collecting
+   * either one. Any mismatch is reported at the first position where the sequences differ, along with at most the given
+   * number of preceding actual members. Because the expected sequence is visited only once, this matcher can then
+   * match only one actual sequence.
+   */
+  public VisitsList<T> streaming( int contextSize)
+    {
+    if( contextSize < 0)
+      {
+      throw new IllegalArgumentException( "Context size must be non-negative");
+      }
+    
+    streamingContext = contextSize;
+    return this;
+    }
+
+  public boolean matches( Object actual)
+    {
+    return
+      streamingContext < 0
+      ? getListsMembers().matches( actual)
+      : matchesVisited( actual);
+    }
+
+  public void describeTo( Description description)
+    {
+    if( streamingContext < 0)
+      {
+      getListsMembers().describeTo( description);
+      }
+    else
+      {
+      int expectedSize = walk == null? -1 : walk.getExpectedSize();
+      description.appendText(
+        expectedMembers == null?
+        "null" :
+
+        walk == null?
+        "Sequence of members" :
+
+        walk.getMemberMatcher().isPresent()?
+        "Sequence containing " + descriptionOf( walk.getMemberMatcher().get()) :
+
+        expectedSize < 0?
+        "Sequence of at least " + (walk.getPosition() + 1) + " members" :
+
+        "Sequence of " + expectedSize + " members");
+      }
+    }
+
+  public void describeMismatch( Object actual, Description description)
+    {
+    if( streamingContext < 0)
+      {
+      getListsMembers().describeMismatch( actual, description);
+      }
+    else if( visited && actual == matched)
+      {
+      String mismatch =
+        sequenceMismatch != null?
+        sequenceMismatch :
+
+        walk == null?
+        null :
+
+        walk.getMemberMatcher().isPresent()?
+        mismatchFor( walk.getMemberMatcher().get(), walk.getActualMember()) + walk.getContext() :
+
+        walk.isMemberMismatch()?
+        "at index=" + walk.getPosition() + ", found " + walk.getActualMember() + " instead of " + walk.getExpectedMember() + walk.getContext() :
+
+        walk.getRemainingMismatch().map( m -> m + walk.getContext()).orElse( null);
+
+      if( mismatch != null)
+        {
+        description.appendText( mismatch);
+        }
+      }
+    }
+
+  /**
+   * Returns true if the given actual object visits the expected sequence, walking both in lockstep.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean matchesVisited( Object actual)
+    {
+    if( !visited || actual != matched)
+      {
+      visited = true;
+      matched = actual;
+      sequenceMismatch = null;
+      walk = null;
+
+      // Expected and actual objects have the same "nullity"?
+      if( (expectedMembers == null) != (actual == null))
+        {
+        sequenceMismatch =
+          expectedMembers == null
+          ? "was not null"
+          : "was null";
+        }
+      else if( actual != null)
+        {
+        // Comparing to an actual sequence?
+        Iterator<T> actualMembers =
+          Iterator.class.isInstance( actual)?
+          (Iterator<T>) actual :
+
+          Iterable.class.isInstance( actual)?
+          ((Iterable<T>) actual).iterator() :
+
+          actual.getClass().isArray() ?
+          Arrays.asList( (T[]) actual).iterator() :
+          
+          null;
+
+        if( actualMembers == null)
+          {
+          sequenceMismatch = "was not an Iterable";
+          }
+        else
+          {
+          walk = LockstepWalk.walk( expectedMembers, actualMembers, streamingContext, true, memberMatcherSupplier == null? null : (position, member) -> memberMatcherSupplier.apply( member));
+          }
+        }
+      }
+
+    return sequenceMismatch == null && (walk == null || walk.matches());
+    }
+
+  /**
+   * Returns the ListsMembers matcher that compares the collected sequences.
+   */
+  private synchronized ListsMembers<T> getListsMembers()
+    {
+    if( listsMembers == null)
+      {
+      Iterable<T> members = expectedMembers == null? null : () -> expectedMembers;
+      listsMembers = new ListsMembers<T>( members, memberMatcherSupplier);
+      }
+
+    return listsMembers;
+    }
+
+  public String toString()
+    {
+    return String.format( "%s[]", getClass().getSimpleName());
+    }
+  }
@@ -22,7 +22,7 @@ import java.util.function.Function;
  * given supplier function.  Then each member of a matched collection must satisfy the member-specific
  * Matcher returned for its <CODE>equals</CODE>-matching counterpart in the given expected collection.
  */
-public class VisitsMembers<T> extends BaseMatcher<Iterator<T>>
+public class VisitsMembers<T> extends BaseMatcher<Iterator<T>> implements Preparable
   {
   private final ContainsMembers<T> containsMembers;
   
@@ -70,6 +70,16 @@ public class VisitsMembers<T> extends BaseMatcher<Iterator<T>>
     containsMembers = new ContainsMembers<T>( members, memberMatcherSupplier);
     }
 
+  /**
+   * Prepares this matcher to be applied to many actual objects.
+   *
+   * @see PreparedMatcher
+   */
+  public void prepare()
+    {
+    containsMembers.prepare();
+    }
+
   public boolean matches( Object actual)
     {
     return containsMembers.matches( actual);
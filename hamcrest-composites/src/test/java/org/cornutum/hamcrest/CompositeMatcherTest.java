@@ -0,0 +1,563 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.cornutum.hamcrest.DeepMatcherTest.Node;
+import org.cornutum.hamcrest.Drawing.Color;
+import org.cornutum.hamcrest.Drawing.DrawingMatcher;
+import org.cornutum.hamcrest.Drawing.Shape;
+import static org.cornutum.hamcrest.Composites.matches;
+import static org.cornutum.hamcrest.Drawing.*;
+import static org.cornutum.hamcrest.Drawing.Color.*;
+import static org.cornutum.hamcrest.ExpectedFailure.*;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import org.hamcrest.CustomTypeSafeMatcher;
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs tests for the {@link CompositeMatcher} matcher.
+ */
+public class CompositeMatcherTest
+  {
+  @Test
+  public void matchesNull_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Empty");
+    Drawing actual = null;
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Null object", actual, matches( new DrawingMatcher( expected))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching not null",
+                   "but: was null"))));
+    }
+
+  @Test
+  public void matchesNullResult()
+    {
+    // Given...
+    Drawing expected = new Drawing( null);
+    Drawing actual = new Drawing( null);
+    
+    // When...
+    assertThat( "Null result", actual, matches( new DrawingMatcher( expected)));
+    }
+
+  @Test
+  public void matchesNullProperty_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( null);
+    Drawing actual = new Drawing( "Empty");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Null result", actual, matches( new DrawingMatcher( expected))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching name=null",
+                   "but: was \"Empty\""))));
+    }
+
+  @Test
+  public void matchesNonNullProperty_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Empty");
+    Drawing actual = new Drawing( null);
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Non-null result", actual, matches( new DrawingMatcher( expected))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching name=\"Empty\"",
+                   "but: was null"))));
+    }
+
+  @Test
+  public void matchesProperties()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", triangle( RED), circle( BLUE));
+    Drawing actual = new Drawing( "Dots", circle( BLUE), triangle( RED));
+    
+    // When...
+    assertThat( "Names", actual, matches( new DrawingMatcher( expected)));
+    }
+
+  @Test
+  public void matchesProperties_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( BLUE));
+    Drawing actual = new Drawing( "Dots", triangle( BLUE), circle( RED));
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Names", actual, matches( new DrawingMatcher( expected))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching elements=Iterable with 2 members",
+                   "but: was missing 1 members=[CIRCLE[Color[0,0,255]]]",
+                   "and: had 1 unexpected members=[TRIANGLE[Color[0,0,255]]]"))));
+    }
+
+  @Test
+  public void matchesProperties_lazy()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( BLUE));
+    Drawing actual = new Drawing( "Lines", circle( RED), circle( BLUE));
+    List<String> supplied = new ArrayList<String>();
+    
+    BaseCompositeMatcher<Drawing> matcher =
+      new BaseCompositeMatcher<Drawing>( expected)
+        {
+          {
+          expectThat( d -> { supplied.add( "name"); return valueOf( "name", Drawing::getName).matches( Matchers::equalTo).apply( d); });
+          expectThat( d -> { supplied.add( "elements"); return valueOf( "elements", Drawing::getElements).matches( Matchers::equalTo).apply( d); });
+          }
+        };
+
+    // When...
+    boolean matches = matcher.matches( actual);
+    matcher.matches( actual);
+
+    // Then...
+    assertThat( "Matches", matches, is( false));
+    assertThat( "Supplied", supplied, contains( "name"));
+    }
+  
+  @Test
+  public void matchesPlan()
+    {
+    // Given...
+    Shape expected = circle( RED);
+    Shape actual = circle( RED);
+    
+    // When...
+    assertThat( "Planned", actual, matches( new PlannedShapeMatcher( expected)));
+    }
+
+  @Test
+  public void matchesPlan_fails()
+    {
+    // Given...
+    Shape expected = circle( RED);
+    Shape actual = circle( BLUE);
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Planned", actual, matches( new PlannedShapeMatcher( expected))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching color=<" + RED + ">",
+                   "but: was <" + BLUE + ">"))));
+    }
+
+  @Test
+  public void matchesPlan_extended()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED));
+    Drawing actual = new Drawing( "Dots", circle( RED));
+    actual.setTags( "dotted");
+
+    BaseCompositeMatcher<Drawing> matcher =
+      new BaseCompositeMatcher<Drawing>( expected, DRAWING_NAME_PLAN)
+        {
+          {
+          expectThat( valueOf( "tags", Drawing::getTags).matches( Matchers::equalTo));
+          }
+        };
+    
+    // When...
+    boolean matches = matcher.matches( actual);
+    boolean planMatches = new BaseCompositeMatcher<Drawing>( expected, DRAWING_NAME_PLAN){}.matches( actual);
+
+    // Then...
+    assertThat( "Extended matches", matches, is( false));
+    assertThat( "Plan matches", planMatches, is( true));
+    }
+
+  @Test
+  public void matchesAdaptive()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( BLUE));
+    List<Drawing> actuals = new ArrayList<Drawing>();
+    for( int i = 0; i < 256; i++)
+      {
+      actuals.add( new Drawing( "Lines-" + i, circle( RED), circle( BLUE)));
+      }
+    int[] elementsMatched = new int[1];
+
+    // When...
+    boolean matches = false;
+    for( Drawing actual : actuals)
+      {
+      matches |= slowElementsMatcher( expected, elementsMatched).matches( actual);
+      }
+
+    // Then...
+    assertThat( "Matches", matches, is( false));
+    assertThat( "Elements matched", elementsMatched[0], lessThan( actuals.size() / 2));
+    }
+
+  @Test
+  public void matchesAdaptive_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( BLUE));
+    int[] elementsMatched = new int[1];
+    for( int i = 0; i < 256; i++)
+      {
+      slowElementsMatcher( expected, elementsMatched).matches( new Drawing( "Lines-" + i, circle( RED), circle( BLUE)));
+      }
+
+    Drawing actual = new Drawing( "Lines", circle( RED), triangle( GREEN));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Adaptive", actual, slowElementsMatcher( expected, elementsMatched)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching elements=",
+                   "but: was <[CIRCLE[Color[255,0,0]], TRIANGLE[Color[0,255,0]]]>"))));
+    }
+
+  @Test
+  public void matchesMemoized()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( GREEN), circle( BLUE), triangle( RED), triangle( GREEN), triangle( BLUE));
+    Drawing actual = new Drawing( "Dots", triangle( BLUE), triangle( GREEN), triangle( RED), circle( BLUE), circle( GREEN), circle( RED));
+    int[] memoizedCompared = new int[1];
+    int[] compared = new int[1];
+
+    // When...
+    boolean memoizedMatches = sharedColorsMatcher( expected, memoizedCompared, true).matches( actual);
+    boolean matches = sharedColorsMatcher( expected, compared, false).matches( actual);
+
+    // Then...
+    assertThat( "Memoized matches", memoizedMatches, is( true));
+    assertThat( "Matches", matches, is( true));
+    assertThat( "Colors compared", memoizedCompared[0], lessThan( compared[0]));
+    }
+
+  @Test
+  public void matchesMemoized_fails()
+    {
+    // Given...
+    Color purple = new Color( 255, 0, 255);
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( GREEN), triangle( RED), triangle( GREEN));
+    Drawing actual = new Drawing( "Dots", triangle( GREEN), triangle( purple), circle( GREEN), circle( purple));
+    int[] compared = new int[1];
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Memoized", actual, sharedColorsMatcher( expected, compared, true)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: " + expected.toString() + " matching elements=Iterable with 4 matching members",
+                   "but: was missing 2 members=[CIRCLE[Color[255,0,0]], TRIANGLE[Color[255,0,0]]]",
+                   "and: had 2 unexpected members=[TRIANGLE[Color[255,0,255]], CIRCLE[Color[255,0,255]]]"))));
+    }
+
+  @Test
+  public void matchesMemoizedCycle_fails()
+    {
+    // Given...
+    Node expected = Node.withChild( "Parent", "Child");
+    Node actual = Node.withChild( "Other", "Child");
+    List<Node> expectedNodes = Arrays.asList( expected, expected.getChild());
+    List<Node> actualNodes = Arrays.asList( actual, actual.getChild());
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Memoized nodes", actualNodes, nodesMatcher( expectedNodes)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: [Node[Parent], Node[Child]] matching nodes=Iterable with 2 matching members",
+                   "but: was missing 2 members=[Node[Parent], Node[Child]]"))));
+    }
+
+  @Test
+  public void matchesMemoizedByKey_fails()
+    {
+    // Given...
+    Color expected = new Color( 255, 0, 0);
+    Color actual = new Color( 255, 1, 0);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Memoized channels", actual, channelsMatcher( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Color[255,0,0] matching Color[255,0,0] matching green=<0>",
+                   "but: was <1>"))));
+    }
+
+  /**
+   * Returns a Matcher for a Drawing that pairs shapes by trying every candidate and that compares shape colors
+   * using a {@link ColorMatcher} that counts the colors compared.
+   */
+  private static BaseCompositeMatcher<Drawing> sharedColorsMatcher( Drawing expected, int[] compared, boolean memoized)
+    {
+    return
+      new BaseCompositeMatcher<Drawing>( expected)
+        {
+          {
+          expectThat( valueOf( "elements", Drawing::getElements).matches( containsMatching( shape -> shapeMatcher( shape, compared, memoized))));
+          }
+        };
+    }
+
+  /**
+   * Returns a Matcher for a Shape that compares colors using a {@link ColorMatcher}.
+   */
+  private static BaseCompositeMatcher<Shape> shapeMatcher( Shape expected, int[] compared, boolean memoized)
+    {
+    return
+      new BaseCompositeMatcher<Shape>( expected)
+        {
+          {
+          expectThat( valueOf( "type", Shape::getType).matches( Matchers::equalTo));
+          expectThat( valueOf( "color", Shape::getColor).matches( color -> new ColorMatcher( color, compared, memoized)));
+          }
+        };
+    }
+
+  /**
+   * Returns a Matcher for a list of Nodes that pairs nodes by trying every candidate, using a memoized {@link NodeMatcher}.
+   */
+  private static BaseCompositeMatcher<List<Node>> nodesMatcher( List<Node> expected)
+    {
+    return
+      new BaseCompositeMatcher<List<Node>>( expected)
+        {
+          {
+          expectThat( valueOf( "nodes", (List<Node> nodes) -> nodes).matches( containsMatching( NodeMatcher::new)));
+          }
+        };
+    }
+
+  /**
+   * Returns an adaptive Matcher for a Drawing that applies a slow elements Matcher before a name Matcher.
+   */
+  private static BaseCompositeMatcher<Drawing> slowElementsMatcher( Drawing expected, int[] elementsMatched)
+    {
+    return
+      new BaseCompositeMatcher<Drawing>( expected)
+        {
+          {
+          adaptive();
+          expectThat(
+            d ->
+            new MatchesFunction<Drawing,List<Shape>>(
+              "elements",
+              Drawing::getElements,
+              d,
+              elements ->
+              {
+              Matcher<List<Shape>> equal = Matchers.equalTo( elements);
+              return new CustomTypeSafeMatcher<List<Shape>>( "equal elements")
+                {
+                protected boolean matchesSafely( List<Shape> item)
+                  {
+                  elementsMatched[0]++;
+                  try
+                    {
+                    Thread.sleep( 1);
+                    }
+                  catch( InterruptedException e)
+                    {
+                    Thread.currentThread().interrupt();
+                    }
+                  return equal.matches( item);
+                  }
+                };
+              }));
+          expectThat( valueOf( "name", Drawing::getName).matches( Matchers::equalTo));
+          }
+        };
+    }
+
+  /**
+   * Matches a Shape using a {@link CompositePlan} shared by all instances.
+   */
+  private static class PlannedShapeMatcher extends BaseCompositeMatcher<Shape>
+    {
+    private static final CompositePlan<Shape> PLAN =
+      new CompositePlan.Builder<Shape>()
+      .expectThat( "type", Shape::getType, Matchers::equalTo)
+      .expectThat( "color", Shape::getColor, Matchers::equalTo)
+      .build();
+
+    /**
+     * Creates a new PlannedShapeMatcher instance.
+     */
+    public PlannedShapeMatcher( Shape expected)
+      {
+      super( expected, PLAN);
+      }
+    }
+
+  /**
+   * Matches a Color, counting the number of colors compared.
+   */
+  private static class ColorMatcher extends BaseCompositeMatcher<Color>
+    {
+    /**
+     * Creates a new ColorMatcher instance.
+     */
+    public ColorMatcher( Color expected, int[] compared, boolean memoized)
+      {
+      super( expected);
+      if( memoized)
+        {
+        memoized();
+        }
+      expectThat( valueOf( "red", Color::getRed).matches( red -> counted( red, compared)));
+      expectThat( valueOf( "green", Color::getGreen).matches( Matchers::equalTo));
+      expectThat( valueOf( "blue", Color::getBlue).matches( Matchers::equalTo));
+      }
+    }
+
+  /**
+   * Returns a Matcher for a Color that compares the red channel and then the green channel of the same pair of
+   * colors, using a memoized {@link ChannelMatcher} for each.
+   */
+  private static BaseCompositeMatcher<Color> channelsMatcher( Color expected)
+    {
+    return
+      new BaseCompositeMatcher<Color>( expected)
+        {
+          {
+          expectThat( matches( color -> new ChannelMatcher( color, "red", Color::getRed)));
+          expectThat( matches( color -> new ChannelMatcher( color, "green", Color::getGreen)));
+          }
+        };
+    }
+
+  /**
+   * Matches a single channel of a Color, remembering the result for each channel separately.
+   */
+  private static class ChannelMatcher extends BaseCompositeMatcher<Color>
+    {
+    private final String channel;
+
+    /**
+     * Creates a new ChannelMatcher instance.
+     */
+    public ChannelMatcher( Color expected, String channel, Function<Color,Integer> value)
+      {
+      super( expected);
+      this.channel = channel;
+      memoized();
+      expectThat( valueOf( channel, value).matches( Matchers::equalTo));
+      }
+
+    protected Object getMatchKey()
+      {
+      return channel;
+      }
+    }
+
+  /**
+   * Returns a Matcher for a value equal to the given expected value that counts the values compared.
+   */
+  private static Matcher<Integer> counted( Integer expected, int[] compared)
+    {
+    return
+      new CustomTypeSafeMatcher<Integer>( String.valueOf( expected))
+        {
+        protected boolean matchesSafely( Integer actual)
+          {
+          compared[0]++;
+          return expected.equals( actual);
+          }
+        };
+    }
+
+  /**
+   * Matches a Node, comparing its child before its name.
+   */
+  private static class NodeMatcher extends BaseCompositeMatcher<Node>
+    {
+    private static final CompositePlan<Node> PLAN =
+      new CompositePlan.Builder<Node>()
+      .expectThat( "child", Node::getChild, NodeMatcher::new)
+      .expectThat( "name", Node::getName, Matchers::equalTo)
+      .expectThat( "parent", Node::getParent, NodeMatcher::new)
+      .memoized()
+      .build();
+
+    /**
+     * Creates a new NodeMatcher instance.
+     */
+    public NodeMatcher( Node expected)
+      {
+      super( expected, PLAN);
+      }
+    }
+
+  private static final CompositePlan<Drawing> DRAWING_NAME_PLAN =
+    new CompositePlan.Builder<Drawing>()
+    .expectThat( "name", Drawing::getName, Matchers::equalTo)
+    .build();
+  }
@@ -18,6 +18,7 @@ import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -135,6 +136,38 @@ public class ContainsElementsTest
                    "and: had 1 unexpected members=[Yellow]"))));
     }
 
+  @Test
+  public void matchesArrayOrdered()
+    {
+    // Given...
+    String[] expected = new String[]{ "Red", "Green", "Blue", "Green"};
+    String[] actual = new String[]{ "Green", "Blue", "Green", "Red"};
+    
+    // When...
+    assertThat( "Ordered elements", actual, containsElementsOrdered( String.CASE_INSENSITIVE_ORDER, expected));
+    }
+
+  @Test
+  public void matchesArrayOrdered_fails()
+    {
+    // Given...
+    String[] expected = new String[]{ "Red", "Green", "Blue", "Magenta", "Cyan"};
+    String[] actual = new String[]{ "Cyan", "Blue", "Red", "Yellow", "Magenta"};
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Ordered elements", actual, containsElementsOrdered( Comparator.naturalOrder(), expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 5 members",
+                   "but: was missing 1 members=[Green]",
+                   "and: had 1 unexpected members=[Yellow]"))));
+    }
+
   @Test
   public void matchesElementMatcher()
     {
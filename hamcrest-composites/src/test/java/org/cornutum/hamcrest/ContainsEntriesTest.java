@@ -19,7 +19,12 @@ import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Runs tests for the {@link ContainsEntries} matcher.
@@ -159,6 +164,176 @@ public class ContainsEntriesTest
                    "but: had 2 unexpected members=[2=Peace, 3=Now]"))));
     }
 
+  @Test
+  public void matchesMap_changed()
+    {
+    // Given...
+    Map<Integer,String> expected =
+      new MapBuilder<Integer,String>()
+      .put( 0, "Hello")
+      .put( 1, null)
+      .put( 2, "Peace")
+      .build();
+
+    Map<Integer,String> actual =
+      new MapBuilder<Integer,String>()
+      .put( 0, "Hello")
+      .put( 1, "World")
+      .put( 3, null)
+      .build();
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Changed", actual, containsEntries( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 3 members",
+                   "but: was missing 2 members=[1=null, 2=Peace]",
+                   "and: had 2 unexpected members=[1=World, 3=null]"))));
+    }
+
+  @Test
+  public void matchesMap_nullKey()
+    {
+    // Given...
+    Map<String,Integer> expected =
+      new MapBuilder<String,Integer>()
+      .put( null, 1)
+      .build();
+
+    Map<String,Integer> actual = new TreeMap<String,Integer>();
+    actual.put( "b", 1);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Null key", actual, containsEntries( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 1 members",
+                   "but: was missing 1 members=[null=1]",
+                   "and: had 1 unexpected members=[b=1]"))));
+    }
+
+  @Test
+  public void matchesMap_incomparableKey()
+    {
+    // Given...
+    Map<Object,Integer> expected =
+      new MapBuilder<Object,Integer>()
+      .put( 1, 1)
+      .build();
+
+    Map<Object,Integer> actual = new TreeMap<Object,Integer>();
+    actual.put( "b", 1);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Incomparable key", actual, containsEntries( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 1 members",
+                   "but: was missing 1 members=[1=1]",
+                   "and: had 1 unexpected members=[b=1]"))));
+    }
+
+  @Test
+  public void matchesMap_caseInsensitiveKeys()
+    {
+    // Given...
+    Map<String,Integer> expected =
+      new MapBuilder<String,Integer>()
+      .put( "Red", 1)
+      .put( "Blue", 2)
+      .build();
+
+    Map<String,Integer> actual = new TreeMap<String,Integer>( String.CASE_INSENSITIVE_ORDER);
+    actual.put( "RED", 1);
+    actual.put( "BLUE", 2);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Case-insensitive keys", actual, containsEntries( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 2 members",
+                   "but: was missing 2 members=[Red=1, Blue=2]",
+                   "and: had 2 unexpected members=[BLUE=2, RED=1]"))));
+
+    expectFailure()
+      .when( () -> assertThat( "Case-insensitive keys", actual, containsEntries( Matchers::equalTo, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 2 members",
+                   "but: was missing 2 members=[Red=1, Blue=2]",
+                   "and: had 2 unexpected members=[BLUE=2, RED=1]"))));
+    }
+
+  @Test
+  public void matchesMap_identityKeys()
+    {
+    // Given...
+    Map<String,Integer> expected =
+      new MapBuilder<String,Integer>()
+      .put( "a", 1)
+      .put( "b", 2)
+      .build();
+
+    Map<String,Integer> actual = new IdentityHashMap<String,Integer>();
+    actual.put( new String( "a"), 1);
+    actual.put( new String( "b"), 2);
+
+    // Then...
+    assertThat( "Identity keys", actual, containsEntries( expected));
+    }
+
+  @Test
+  public void matchesMap_identityKeys_fails()
+    {
+    // Given...
+    Map<String,Integer> expected =
+      new MapBuilder<String,Integer>()
+      .put( "a", 1)
+      .put( "b", 2)
+      .build();
+
+    Map<String,Integer> actual = new IdentityHashMap<String,Integer>();
+    actual.put( new String( "a"), 1);
+    actual.put( new String( "a"), 1);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Identity keys", actual, containsEntries( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 2 members",
+                   "but: was missing 1 members=[b=2]",
+                   "and: had 1 unexpected members=[a=1]"))));
+    }
+
   @Test
   public void matchesNonMap_fails()
     {
@@ -284,4 +459,103 @@ public class ContainsEntriesTest
                    
                    "but: was <Color[0,0,255]>"))));      
     }
+
+  @Test
+  public void matchesFingerprinted_fails()
+    {
+    // Given...
+    Map<Integer,String> expected =
+      new MapBuilder<Integer,String>()
+      .put( 0, "Hello")
+      .put( 1, "World")
+      .build();
+
+    Map<Integer,String> actual =
+      new MapBuilder<Integer,String>()
+      .put( 0, "Hello")
+      .put( 1, "Peace")
+      .build();
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Fingerprinted", actual, new ContainsEntries<Integer,String>( expected).fingerprinted()))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 2 members",
+                   "but: was missing 1 members=[1=World]",
+                   "and: had 1 unexpected members=[1=Peace]"))));
+    }
+
+  @Test
+  public void matchesSortedMap()
+    {
+    // Given...
+    SortedMap<Integer,String> expected = new TreeMap<Integer,String>();
+    expected.put( 0, "Hello");
+    expected.put( 1, "World");
+
+    SortedMap<Integer,String> actual = new ConcurrentSkipListMap<Integer,String>();
+    actual.put( 1, "World");
+    actual.put( 0, "Hello");
+
+    // When...
+    assertThat( "Sorted", actual, containsEntries( expected));
+    }
+
+  @Test
+  public void matchesSortedMap_fails()
+    {
+    // Given...
+    SortedMap<Integer,String> expected = new TreeMap<Integer,String>();
+    expected.put( 0, "Hello");
+    expected.put( 1, "World");
+    expected.put( 3, "Now");
+
+    SortedMap<Integer,String> actual = new TreeMap<Integer,String>();
+    actual.put( 0, "Hello");
+    actual.put( 2, "Peace");
+    actual.put( 3, "Then");
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Sorted", actual, containsEntries( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set with 3 members",
+                   "but: was missing 2 members=[1=World, 3=Now] starting at position=1",
+                   "and: had 2 unexpected members=[2=Peace, 3=Then] starting at position=1"))));
+    }
+
+  @Test
+  public void matchesSortedMapValueMatcher_fails()
+    {
+    // Given...
+    SortedMap<Integer,Drawing> expected = new TreeMap<Integer,Drawing>( Comparator.reverseOrder());
+    expected.put( 0, new Drawing( "Reds", triangle( RED), rectangle( RED), circle( RED)));
+    expected.put( 1, new Drawing( "Greens", triangle( GREEN), rectangle( GREEN), circle( GREEN)));
+
+    SortedMap<Integer,Drawing> actual = new TreeMap<Integer,Drawing>( Comparator.reverseOrder());
+    actual.put( 0, new Drawing( "Reds", triangle( RED), rectangle( RED), circle( BLUE)));
+    actual.put( 1, new Drawing( "Greens", triangle( GREEN), rectangle( GREEN), circle( BLUE)));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Value matchers", actual, containsEntries( DrawingMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Map entry set containing 1=Drawing[Greens]",
+                   "but: was <Color[0,0,255]>"))));
+    }
   }
@@ -0,0 +1,191 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.cornutum.hamcrest.Drawing.Shape;
+import org.cornutum.hamcrest.Drawing.ShapeMatcher;
+import static org.cornutum.hamcrest.Drawing.*;
+import static org.cornutum.hamcrest.Drawing.Color.*;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.*;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs tests for the {@link ContainsMatching} matcher.
+ */
+public class ContainsMatchingTest
+  {
+
+  @Test
+  public void matchesNull()
+    {
+    // Given...
+    List<Shape> expected = null;
+    List<Shape> actual = null;
+
+    // When...
+    assertThat( "Null lists", actual, containsMatching( ShapeMatcher::new, expected));
+    }
+
+  @Test
+  public void matchesNull_fails()
+    {
+    // Given...
+    List<Shape> expected = null;
+    List<Shape> actual = Arrays.asList( circle( RED));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Null list", actual, containsMatching( ShapeMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: null",
+                   "but: was not null"))));
+    }
+
+  @Test
+  public void matchesNonNull_fails()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED));
+    List<Shape> actual = null;
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Non-null list", actual, containsMatching( ShapeMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 1 matching members",
+                   "but: was null"))));
+    }
+
+  @Test
+  public void matchesMembers()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), circle( GREEN), triangle( BLUE));
+    List<Shape> actual = Arrays.asList( triangle( BLUE), circle( GREEN), circle( RED));
+
+    // When...
+    assertThat( "Members", actual, containsMatching( ShapeMatcher::new, expected));
+    }
+
+  @Test
+  public void matchesMembers_assigned()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( null), circle( RED), triangle( null));
+    List<Shape> actual = Arrays.asList( circle( RED), triangle( GREEN), circle( BLUE));
+
+    // When...
+    assertThat( "Members", actual, containsMatching( ContainsMatchingTest::shapeLike, expected));
+    }
+
+  @Test
+  public void matchesMembers_missing()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN));
+    List<Shape> actual = Arrays.asList( triangle( BLUE), circle( RED));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Missing members", actual, containsMatching( ShapeMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 2 matching members",
+                   "but: was missing 1 members=[TRIANGLE[Color[0,255,0]]]",
+                   "and: had 1 unexpected members=[TRIANGLE[Color[0,0,255]]]"))));
+    }
+
+  @Test
+  public void matchesMembers_unassigned()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), circle( null));
+    List<Shape> actual = Arrays.asList( triangle( RED), circle( RED));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Unassigned members", actual, containsMatching( ContainsMatchingTest::shapeLike, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 2 matching members",
+                   "but: had no unique match for 1 members=[CIRCLE[null]]",
+                   "and: had 1 unexpected members=[TRIANGLE[Color[255,0,0]]]"))));
+    }
+
+  @Test
+  public void matchesMembers_bucketed()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( null), circle( RED), triangle( null), rectangle( GREEN));
+    List<Shape> actual = Arrays.asList( circle( RED), triangle( GREEN), circle( BLUE), rectangle( BLUE));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Bucketed members", actual, containsMatching( Shape::getType, ContainsMatchingTest::shapeLike, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 4 matching members",
+                   "but: was missing 1 members=[RECTANGLE[Color[0,255,0]]]",
+                   "and: had 1 unexpected members=[RECTANGLE[Color[0,0,255]]]"))));
+    }
+
+  @Test
+  public void matchesNonIterable_fails()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED));
+    Shape actual = circle( RED);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Matching a non-iterable", containsMatching( ShapeMatcher::new, expected).matches( actual)))
+      .then( failure -> assertThat( "Failure message", failure.getMessage(), is( equalTo( "Matching a non-iterable"))));
+    }
+
+  /**
+   * Returns a Matcher for shapes like the given expected Shape. If the expected color is null, any color matches.
+   */
+  private static Matcher<Shape> shapeLike( Shape expected)
+    {
+    return
+      expected.getColor() == null
+      ? Composites.<Shape,Shape.Type>comparedTo( expected).byValueOf( "type", Shape::getType).matches( Matchers::equalTo)
+      : new ShapeMatcher( expected);
+    }
+  }
@@ -0,0 +1,616 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2018, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.cornutum.hamcrest.Drawing.Color;
+import org.cornutum.hamcrest.Drawing.DrawingMatcher;
+import org.cornutum.hamcrest.Drawing.Shape;
+import org.cornutum.hamcrest.Drawing.ShapeMatcher;
+import static org.cornutum.hamcrest.Drawing.*;
+import static org.cornutum.hamcrest.Drawing.Color.*;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.*;
+
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for the {@link ContainsMembers} matcher.
+ */
+public class ContainsMembersTest
+  {
+
+  @Test
+  public void matchesNull()
+    {
+    // Given...
+    List<String> expected = null;
+    List<String> actual = null;
+    
+    // When...
+    assertThat( "Null lists", actual, containsMembers( expected));
+    }
+
+  @Test
+  public void matchesNull_fails()
+    {
+    // Given...
+    List<String> expected = null;
+    List<String> actual = Arrays.asList( "Red", "Green", "Blue");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Null list", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: null",
+                   "but: was not null"))));
+    }
+
+  @Test
+  public void matchesNonNull_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    List<String> actual = null;
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Non-null list", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: was null"))));
+    }
+
+  @Test
+  public void matchesList()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red");
+    
+    // When...
+    assertThat( "Lists", actual, containsMembers( expected));
+    }
+
+  @Test
+  public void matchesList_missing()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Magenta", "Cyan");
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Missing members", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 5 members",
+                   "but: was missing 2 members=[Magenta, Cyan]"))));
+    }
+
+  @Test
+  public void matchesList_unexpected()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Blue");
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red", "Blue");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Missing members", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 1 members",
+                   "but: had 3 unexpected members=[Green, Red, Blue]"))));
+    }
+
+  @Test
+  public void matchesList_overlapping()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Magenta", "Cyan");
+    List<String> actual = Arrays.asList( "Cyan", "Blue", "Red", "Yellow", "Magenta");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Overlapping members", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 5 members",
+                   "but: was missing 1 members=[Green]",
+                   "and: had 1 unexpected members=[Yellow]"))));
+    }
+
+  @Test
+  public void matchesList_duplicates()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Blue", "Red", "Green", "Red");
+    List<String> actual = Arrays.asList( "Blue", "Red", "Blue", "Green");
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Duplicate members", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 5 members",
+                   "but: was missing 2 members=[Red, Red]",
+                   "and: had 1 unexpected members=[Blue]"))));
+    }
+
+  @Test
+  public void matchesListOrdered()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Red");
+    List<String> actual = Arrays.asList( "red", "GREEN", "Blue", "RED");
+    
+    // When...
+    assertThat( "Ordered lists", actual, containsMembersOrdered( String.CASE_INSENSITIVE_ORDER, expected));
+    }
+
+  @Test
+  public void matchesListOrdered_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Blue", "Red", "Green", "Red");
+    List<String> actual = Arrays.asList( "Blue", "Red", "Blue", "Green", "Yellow");
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Ordered lists", actual, containsMembersOrdered( Comparator.naturalOrder(), expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 5 members",
+                   "but: was missing 2 members=[Red, Red]",
+                   "and: had 2 unexpected members=[Blue, Yellow]"))));
+    }
+
+  @Test
+  public void matchesComparatorMember()
+    {
+    // Given...
+    Comparator<Object> byName = Comparator.comparing( String::valueOf);
+    List<Object> actual = Arrays.asList( "Red", byName);
+
+    // Then...
+    assertThat( "Comparator member", actual, containsMembers( byName, "Red"));
+    }
+
+  @Test
+  public void matchesStreaming()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Red");
+    Iterable<String> actual = Arrays.asList( "Red", "Blue", "Red", "Green")::iterator;
+    
+    // When...
+    assertThat( "Streaming", actual, new ContainsMembers<String>( expected).streaming( 2));
+    }
+
+  @Test
+  public void matchesStreaming_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    Iterable<String> actual = Arrays.asList( "Cyan", "Red", "Magenta", "Blue", "Yellow", "White")::iterator;
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new ContainsMembers<String>( expected).streaming( 2)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: was missing 1 members=[Green]",
+                   "and: had 4 unexpected members=[Cyan, Magenta, ... and 2 more]"))));
+    }
+
+  @Test
+  public void matchesStreamingMemberMatcher_fails()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    Iterable<Shape> actual = Arrays.asList( triangle( GREEN), rectangle( RED), circle( BLUE), circle( RED))::iterator;
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new ContainsMembers<Shape>( expected, ShapeMatcher::new).streaming( 10)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: had 1 unexpected members=[CIRCLE[Color[255,0,0]]]"))));
+    }
+
+  @Test
+  public void matchesNonIterable_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    String actual = "Red, Green, Blue";
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Matching a non-iterable", containsMembers( expected).matches( actual)))
+      .then( failure -> assertThat( "Failure message", failure.getMessage(), is( equalTo( "Matching a non-iterable"))));
+    }
+
+  @Test
+  public void matchesArray()
+    {
+    // Given...
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red");
+    
+    // When...
+    assertThat( "Arrays", actual, containsMembers( "Red", "Green", "Blue"));
+    }
+
+  @Test
+  public void matchesIterator()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green", "Blue").iterator();
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red");
+    
+    // When...
+    assertThat( actual, containsMembers( expected));
+    }
+
+  @Test
+  public void matchesIterator_fails()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green", "Blue").iterator();
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red", "White");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Iterators", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: had 1 unexpected members=[White]"))));
+    }
+
+  @Test
+  public void matchesMemberMatcher()
+    {
+    // Given...
+    Drawing[] expected =
+      new Drawing[]
+        {
+          new Drawing( "Reds", triangle( RED), rectangle( RED), circle( RED)),
+          new Drawing( "Greens", triangle( GREEN), rectangle( GREEN), circle( GREEN)),
+          new Drawing( "Blues", triangle( BLUE), rectangle( BLUE), circle( BLUE))
+        };
+
+    List<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)),
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)));
+        
+    
+    // When...
+    assertThat( "Member matchers", actual, containsMembers( DrawingMatcher::new, expected));
+    }
+
+  @Test
+  public void matchesMemberMatcher_duplicates()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), circle( BLUE), circle( GREEN));
+    List<Shape> actual = Arrays.asList( triangle( GREEN), circle( RED), circle( BLUE), circle( GREEN));
+
+    // When...
+    assertThat( "Member matchers", actual, containsMembers( ShapeMatcher::new, expected));
+    }
+
+  @Test
+  public void matchesMemberKey()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<Shape> actual = Arrays.asList( triangle( GREEN), rectangle( BLUE), circle( RED));
+
+    // When...
+    assertThat( "Member keys", actual, containsMembers( Shape::getColor, ShapeMatcher::new, expected));
+    }
+
+  @Test
+  public void matchesMemberKey_missing()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<Shape> actual = Arrays.asList( triangle( GREEN), rectangle( BLUE), circle( new Color( 0, 0, 0)));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Member keys", actual, containsMembers( Shape::getColor, ShapeMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: was missing 1 members with keys=[Color[255,0,0]]",
+                   "and: had 1 unexpected members with keys=[Color[0,0,0]]"))));
+    }
+
+  @Test
+  public void matchesMemberKey_fails()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<Shape> actual = Arrays.asList( triangle( GREEN), rectangle( RED), rectangle( BLUE));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Member keys", actual, containsMembers( Shape::getColor, ShapeMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable containing CIRCLE[Color[255,0,0]] matching type=<CIRCLE>",
+                   "but: was <RECTANGLE>"))));
+    }
+
+  @Test
+  public void matchesMemberMatcher_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)),
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)));
+
+    List<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( RED), triangle( BLUE)),
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)));
+        
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Member matchers", actual, containsMembers( DrawingMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable containing Drawing[Blues] matching elements=Iterable containing CIRCLE[Color[0,0,255]] matching color=<Color[0,0,255]>",
+                   "but: was <Color[255,0,0]>"))));
+    }
+
+  @Test
+  public void matchesFailFast()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    List<String> actual = Arrays.asList( "Blue", "Red", "Green");
+
+    // When...
+    assertThat( "Fail fast", actual, new ContainsMembers<String>( expected).failFast( 2));
+    }
+
+  @Test
+  public void matchesFailFastInvalid_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+
+    // Then...
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new ContainsMembers<String>( expected).failFast( 0));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new ContainsMembers.Supplier<String,List<String>>( Matchers::equalTo).failFast( -1));
+    }
+
+  @Test
+  public void matchesFailFast_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    List<String> actual = Arrays.asList( "Cyan", "Red", "Magenta", "Blue", "Yellow", "White");
+    ContainsMembers<String> matcher = new ContainsMembers<String>( expected).failFast( 2);
+
+    // When...
+    boolean matches = matcher.matches( actual);
+
+    // Then...
+    assertThat( "Matches", matches, is( false));
+    expectFailure()
+      .when( () -> assertThat( "Fail fast", actual, matcher))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: was missing 1 members=[Green]",
+                   "and: had 4 unexpected members=[Cyan, Magenta, ... and 2 more]"))));
+    }
+
+  @Test
+  public void matchesList_manyUnexpected()
+    {
+    // Given...
+    String longMember = String.join( "", Collections.nCopies( 250, "x"));
+    List<String> expected = Arrays.asList( "Red");
+    List<String> actual =
+      IntStream.range( 0, 150)
+      .mapToObj( i -> i == 0? longMember : String.valueOf( i))
+      .collect( toList());
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Many unexpected members", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 1 members",
+                   "but: was missing 1 members=[Red]",
+                   "and: had 150 unexpected members=[" + longMember.substring( 0, 200) + "..., 1, 2,",
+                   ", 98, 99, ... and 50 more]"))));
+    }
+
+  @Test
+  public void matchesList_largeMembers()
+    {
+    // Given...
+    List<Integer> largeList = IntStream.range( 0, 1000000).boxed().collect( toList());
+    Map<String,List<Integer>> largeMap = Collections.singletonMap( "Large", largeList);
+    List<Object> expected = Arrays.asList( "Red");
+    List<Object> actual = Arrays.asList( largeList, largeMap, Arrays.asList( "Red", "Green"));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Large members", actual, containsMembers( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 1 members",
+                   "but: was missing 1 members=[Red]",
+                   "and: had 3 unexpected members=["
+                   + largeList.subList( 0, 100).toString().substring( 0, 200) + "..., "
+                   + "{Large=" + largeList.subList( 0, 100).toString().substring( 0, 193) + "..., "
+                   + "[Red, Green]]"))));
+    }
+
+  @Test
+  public void matchesFingerprinted()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Red");
+    List<String> actual = Arrays.asList( "Red", "Blue", "Red", "Green");
+
+    // When...
+    assertThat( "Fingerprinted", actual, new ContainsMembers<String>( expected).fingerprinted());
+    }
+
+  @Test
+  public void matchesFingerprinted_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+    List<String> actual = Arrays.asList( "Red", "Blue", "Magenta");
+    ContainsMembers<String> matcher = new ContainsMembers<String>( expected).fingerprinted();
+
+    // When...
+    boolean matches = matcher.matches( actual);
+
+    // Then...
+    assertThat( "Matches", matches, is( false));
+    expectFailure()
+      .when( () -> assertThat( "Fingerprinted", actual, matcher))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable with 3 members",
+                   "but: was missing 1 members=[Green]",
+                   "and: had 1 unexpected members=[Magenta]"))));
+    }
+
+  @Test
+  public void matchesParallel_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> new Drawing( "Drawing-" + i, circle( RED), triangle( GREEN)))
+      .collect( toList());
+
+    List<Drawing> actual =
+      IntStream.range( 0, 1000)
+      .map( i -> 999 - i)
+      .mapToObj( i -> new Drawing( "Drawing-" + i, circle( i % 100 == 0? BLUE : RED), triangle( GREEN)))
+      .collect( toList());
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Parallel", actual, new ContainsMembers<Drawing>( expected, DrawingMatcher::new).parallel( new ForkJoinPool( 4))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable containing Drawing[Drawing-900] matching elements=Iterable containing CIRCLE[Color[255,0,0]] matching color=<Color[255,0,0]>",
+                   "but: was <Color[0,0,255]>"))));
+    }
+  }
@@ -0,0 +1,639 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.cornutum.hamcrest.Drawing.Shape;
+import static org.cornutum.hamcrest.Drawing.*;
+import static org.cornutum.hamcrest.Drawing.Color.*;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.*;
+
+import org.hamcrest.Matcher;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs tests for the {@link DeepMatcher} matcher.
+ */
+public class DeepMatcherTest
+  {
+  @Test
+  public void matchesDrawing()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( BLUE));
+    expected.setTags( "A", "B");
+    Drawing actual = new Drawing( "Dots", circle( GREEN), circle( GREEN));
+    actual.setTags( "A", "B");
+    
+    // When...
+    assertThat( "Drawing", actual, deepMatcherFor( Drawing.class).apply( expected));
+    }
+
+  @Test
+  public void matchesDrawing_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), circle( BLUE));
+    expected.setTags( "A", "B");
+    Drawing actual = new Drawing( "Dots", circle( RED), circle( BLUE));
+    actual.setTags( "B", "A");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Drawing", actual, deepMatcherFor( Drawing.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Drawing[Dots] matching tags=Sequence of 2 members",
+                   "but: at index=0, found B instead of A"))));
+    }
+
+  @Test
+  public void matchesWrongType_fails()
+    {
+    // Given...
+    Frame expected = new Frame( "Picture", 10, new Border( 1, true));
+    Object actual = new Drawing( "Picture");
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Matcher<Object> matcher = (Matcher) deepMatcherFor( Frame.class).apply( expected);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Frame", actual, matcher))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Frame[Picture] matching an instance of org.cornutum.hamcrest.DeepMatcherTest$Frame",
+                   "but: <Drawing[Picture]> is a org.cornutum.hamcrest.Drawing"))));
+    }
+
+  @Test
+  public void matchesNested()
+    {
+    // Given...
+    Frame expected = new Frame( "Picture", 10, new Border( 1, true));
+    Frame actual = new Frame( "Picture", 10, new Border( 1, true));
+
+    // When...
+    assertThat( "Frame", actual, deepMatcherFor( Frame.class).apply( expected));
+    }
+
+  @Test
+  public void matchesNested_fails()
+    {
+    // Given...
+    Frame expected = new Frame( "Picture", 10, new Border( 1, true));
+    Frame actual = new Frame( "Picture", 10, new Border( 1, false));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Frame", actual, deepMatcherFor( Frame.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Frame[Picture] matching border=Border[1,true] matching visible=<true>",
+                   "but: was <false>"))));
+    }
+
+  @Test
+  public void matchesNestedNull_fails()
+    {
+    // Given...
+    Frame expected = new Frame( "Picture", 10, new Border( 1, true));
+    Frame actual = new Frame( "Picture", 10, null);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Frame", actual, deepMatcherFor( Frame.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Frame[Picture] matching border=Border[1,true] matching not null",
+                   "but: was null"))));
+    }
+
+  @Test
+  public void matchesMembers_fails()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( BLUE));
+    List<Shape> actual = Arrays.asList( triangle( BLUE), circle( GREEN));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Shapes", actual, containsMembers( deepMatcherFor( Shape.class), expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Iterable containing CIRCLE[Color[255,0,0]] matching color=<Color[255,0,0]>",
+                   "but: was <Color[0,255,0]>"))));
+    }
+
+  @Test
+  public void matchesCovariant()
+    {
+    // Given...
+    Exhibit expected = new Exhibit( new Border( 1, true));
+    Exhibit actual = new Exhibit( new Border( 1, true));
+
+    // When...
+    assertThat( "Exhibit", actual, deepMatcherFor( Exhibit.class).apply( expected));
+    }
+
+  @Test
+  public void matchesCovariant_fails()
+    {
+    // Given...
+    Exhibit expected = new Exhibit( new Border( 1, true));
+    Exhibit actual = new Exhibit( new Border( 2, true));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Exhibit", actual, deepMatcherFor( Exhibit.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Exhibit[Border[1,true]] matching label=Border[1,true] matching width=<1>",
+                   "but: was <2>"))));
+    }
+
+  @Test
+  public void matchesInheritedFromHidden_fails()
+    {
+    // Given...
+    Sculpture expected = new Sculpture( "Thinker", 1);
+    Sculpture actual = new Sculpture( "Thinker", 2);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Sculpture", actual, deepMatcherFor( Sculpture.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sculpture[Thinker] matching size=<1>",
+                   "but: was <2>"))));
+    }
+
+  @Test
+  public void matchesDeepMembers()
+    {
+    // Given...
+    Showcase expected = new Showcase( "Window", new Border( 1, true), new Border( 2, false));
+    Showcase actual = new Showcase( "Window", new Border( 1, true), new Border( 2, false));
+
+    // Then...
+    assertThat( "Showcase", actual, deepMatcherFor( Showcase.class).apply( expected));
+    }
+
+  @Test
+  public void matchesDeepMembers_fails()
+    {
+    // Given...
+    Showcase expected = new Showcase( "Window", new Border( 1, true), new Border( 2, false));
+    Showcase actual = new Showcase( "Window", new Border( 1, true), new Border( 3, false));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Showcase", actual, deepMatcherFor( Showcase.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Showcase[Window] matching borders=",
+                   "matching width=<2>",
+                   "but: was <3>"))));
+    }
+
+  @Test
+  public void matchesDeepValues_fails()
+    {
+    // Given...
+    Showcase expected = new Showcase( "Window", new Border( 1, true));
+    Showcase actual = new Showcase( "Window", new Border( 1, true));
+    actual.getBordersByName().put( "Border-0", new Border( 1, false));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Showcase", actual, deepMatcherFor( Showcase.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Showcase[Window] matching bordersByName=Map entry set Iterable with 1 matching members",
+                   "but: entry set was missing 1 members=[Border-0=Border[1,true]]"))));
+    }
+
+  @Test
+  public void matchesCycle()
+    {
+    // Given...
+    Node expected = Node.withChild( "Parent", "Child");
+    Node actual = Node.withChild( "Parent", "Child");
+
+    // Then...
+    assertThat( "Node", actual, deepMatcherFor( Node.class).apply( expected));
+    }
+
+  @Test
+  public void matchesCycle_fails()
+    {
+    // Given...
+    Node expected = Node.withChild( "Parent", "Child");
+    Node actual = Node.withChild( "Parent", "Other");
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Node", actual, deepMatcherFor( Node.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Node[Parent] matching child=Node[Child] matching name=\"Child\"",
+                   "but: was \"Other\""))));
+    }
+
+  @Test
+  public void matchesDeepCycle_fails()
+    {
+    // Given...
+    Node expected = Node.ring( 100, 99, "Last");
+    Node actual = Node.ring( 100, 99, "Other");
+
+    // Then...
+    assertThat( "Same ring", Node.ring( 100, 99, "Last"), deepMatcherFor( Node.class).apply( expected));
+
+    expectFailure()
+      .when( () -> assertThat( "Node", actual, deepMatcherFor( Node.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Node[0] matching child=Node[1] matching child=Node[2]",
+                   "matching name=\"Last\"",
+                   "but: was \"Other\""))));
+    }
+
+  @Test
+  public void matchesSubtypeInProgress_fails()
+    {
+    // Given...
+    Assembly expected = new Assembly( "Engine", 2);
+    Assembly actual = new Assembly( "Engine", 3);
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Part", actual, deepMatcherFor( Part.class).apply( expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Assembly[Engine] matching assembly=Assembly[Engine] matching count=<2>",
+                   "but: was <3>"))));
+    }
+
+  /**
+   * A framed picture.
+   */
+  public static class Frame
+    {
+    private final String title;
+    private final int size;
+    private final Border border;
+
+    public Frame( String title, int size, Border border)
+      {
+      this.title = title;
+      this.size = size;
+      this.border = border;
+      }
+
+    public String getTitle()
+      {
+      return title;
+      }
+
+    public int getSize()
+      {
+      return size;
+      }
+
+    public Border getBorder()
+      {
+      return border;
+      }
+
+    public String toString()
+      {
+      return "Frame[" + getTitle() + "]";
+      }
+    }
+
+  /**
+   * The border of a {@link Frame}.
+   */
+  public static class Border
+    {
+    private final int width;
+    private final boolean visible;
+
+    public Border( int width, boolean visible)
+      {
+      this.width = width;
+      this.visible = visible;
+      }
+
+    public int getWidth()
+      {
+      return width;
+      }
+
+    public boolean isVisible()
+      {
+      return visible;
+      }
+
+    public String toString()
+      {
+      return "Border[" + getWidth() + "," + isVisible() + "]";
+      }
+    }
+  
+  /**
+   * An object with a label of some type.
+   */
+  public interface Labeled<L>
+    {
+    public L getLabel();
+    }
+
+  /**
+   * An exhibit labeled by a {@link Border}.
+   */
+  public static class Exhibit implements Labeled<Border>
+    {
+    private final Border label;
+
+    public Exhibit( Border label)
+      {
+      this.label = label;
+      }
+
+    public Border getLabel()
+      {
+      return label;
+      }
+
+    public String toString()
+      {
+      return "Exhibit[" + getLabel() + "]";
+      }
+    }
+
+  /**
+   * A part that belongs to an {@link Assembly}.
+   */
+  public static class Part
+    {
+    private final String name;
+    private Assembly assembly;
+
+    public Part( String name, Assembly assembly)
+      {
+      this.name = name;
+      this.assembly = assembly;
+      }
+
+    public String getName()
+      {
+      return name;
+      }
+
+    public Assembly getAssembly()
+      {
+      return assembly;
+      }
+
+    protected void setAssembly( Assembly assembly)
+      {
+      this.assembly = assembly;
+      }
+
+    public String toString()
+      {
+      return getClass().getSimpleName() + "[" + getName() + "]";
+      }
+    }
+
+  /**
+   * A top-level {@link Part} that is its own assembly.
+   */
+  public static class Assembly extends Part
+    {
+    private final int count;
+
+    public Assembly( String name, int count)
+      {
+      super( name, null);
+      this.count = count;
+      setAssembly( this);
+      }
+
+    public int getCount()
+      {
+      return count;
+      }
+    }
+
+  /**
+   * A showcase that displays a list of {@link Border} samples.
+   */
+  public static class Showcase
+    {
+    private final String name;
+    private final List<Border> borders;
+    private final Map<String,Border> bordersByName = new HashMap<String,Border>();
+
+    public Showcase( String name, Border... borders)
+      {
+      this.name = name;
+      this.borders = Arrays.asList( borders);
+      for( int i = 0; i < borders.length; i++)
+        {
+        bordersByName.put( "Border-" + i, borders[i]);
+        }
+      }
+
+    public String getName()
+      {
+      return name;
+      }
+
+    public List<Border> getBorders()
+      {
+      return borders;
+      }
+
+    public Map<String,Border> getBordersByName()
+      {
+      return bordersByName;
+      }
+
+    public String toString()
+      {
+      return "Showcase[" + getName() + "]";
+      }
+    }
+
+  /**
+   * A catalogued item, whose public getters are inherited by public subclasses.
+   */
+  static class Catalogued
+    {
+    private final int size;
+
+    Catalogued( int size)
+      {
+      this.size = size;
+      }
+
+    public int getSize()
+      {
+      return size;
+      }
+    }
+
+  /**
+   * A {@link Catalogued} sculpture.
+   */
+  public static class Sculpture extends Catalogued
+    {
+    private final String title;
+
+    public Sculpture( String title, int size)
+      {
+      super( size);
+      this.title = title;
+      }
+
+    public String getTitle()
+      {
+      return title;
+      }
+
+    public String toString()
+      {
+      return "Sculpture[" + getTitle() + "]";
+      }
+    }
+
+  /**
+   * A node that refers to both its parent and its child.
+   */
+  public static class Node
+    {
+    private final String name;
+    private Node parent;
+    private Node child;
+
+    public Node( String name)
+      {
+      this.name = name;
+      }
+
+    /**
+     * Returns a new parent Node with the given names for the parent and its child.
+     */
+    public static Node withChild( String parentName, String childName)
+      {
+      Node parent = new Node( parentName);
+      Node child = new Node( childName);
+      parent.child = child;
+      child.parent = parent;
+      return parent;
+      }
+
+    /**
+     * Returns the first of a ring of Nodes of the given size, in which each Node is the parent of the next. The Node at
+     * the given position is given the given name. Every other Node is named by its position.
+     */
+    public static Node ring( int size, int namedPosition, String name)
+      {
+      Node first = new Node( namedPosition == 0? name : "0");
+      Node last = first;
+      for( int i = 1; i < size; i++)
+        {
+        Node next = new Node( namedPosition == i? name : String.valueOf( i));
+        last.child = next;
+        next.parent = last;
+        last = next;
+        }
+
+      last.child = first;
+      first.parent = last;
+      return first;
+      }
+
+    public String getName()
+      {
+      return name;
+      }
+
+    public Node getParent()
+      {
+      return parent;
+      }
+
+    public Node getChild()
+      {
+      return child;
+      }
+
+    public String toString()
+      {
+      return "Node[" + getName() + "]";
+      }
+    }
+  }
@@ -19,6 +19,9 @@ import static org.hamcrest.Matchers.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Runs tests for the {@link ListsMatching} matcher.
@@ -266,4 +269,208 @@ public class ListsMatchingTest
                    "Expected: At position=1, Drawing[Blues] matching elements=Iterable containing CIRCLE[Color[0,0,255]] matching color=<Color[0,0,255]>",
                    "but: was <Color[255,0,0]>"))));
     }
+
+  @Test
+  public void matchesFailFastInvalid_fails()
+    {
+    // Given...
+    List<Drawing> expected = Arrays.asList( new Drawing( "Reds", circle( RED)));
+
+    // Then...
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new ListsMatching<Drawing>( expected, DrawingMatcher::new).failFast( 0));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new ListsMatching.Supplier<Drawing,List<Drawing>>( DrawingMatcher::new).failFast( -1));
+    }
+
+  @Test
+  public void matchesFailFast_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)));
+
+    List<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)));
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Fail fast", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).failFast( 1)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 1 members",
+                   "but: had 2 unexpected members=[Drawing[Greens], ... and 1 more] starting at position=1"))));
+    }
+
+  @Test
+  public void matchesDiff_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)));
+
+    List<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)),
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)));
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Diff", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).diff( 10)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 3 members",
+                   "but: differed in 2 hunks:",
+                   "at index=1, was missing [Drawing[Greens]]",
+                   "at index=2, had unexpected [Drawing[Greens]]"))));
+    }
+
+  @Test
+  public void matchesDiff_memberChanged()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)));
+
+    List<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( BLUE), rectangle( GREEN)));
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Diff", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).diff( 10)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: At position=1, Drawing[Greens] matching elements=Iterable containing CIRCLE[Color[0,255,0]] matching color=<Color[0,255,0]>",
+                   "but: was <Color[0,0,255]>"))));
+    }
+
+  @Test
+  public void matchesStreaming_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)));
+
+    Iterable<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( BLUE), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)))
+      ::iterator;
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).streaming( 3)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: At position=1, Drawing[Greens] matching elements=Iterable containing CIRCLE[Color[0,255,0]] matching color=<Color[0,255,0]>",
+                   "but: was <Color[0,0,255]>",
+                   "after: [Drawing[Reds]]"))));
+    }
+
+  @Test
+  public void matchesStreamingMissing_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)));
+
+    Iterable<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)))
+      ::iterator;
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).streaming( 3)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 3 members",
+                   "but: was missing 2 members=[Drawing[Greens], Drawing[Blues]] starting at position=1",
+                   "after: [Drawing[Reds]]"))));
+    }
+
+  @Test
+  public void matchesParallel()
+    {
+    // Given...
+    List<Drawing> expected =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> new Drawing( "Drawing-" + i, circle( RED), triangle( GREEN), rectangle( BLUE)))
+      .collect( toList());
+
+    List<Drawing> actual =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> new Drawing( "Drawing-" + i, circle( RED), triangle( GREEN), rectangle( BLUE)))
+      .collect( toList());
+    
+    // When...
+    assertThat( "Parallel", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).parallel());
+    }
+
+  @Test
+  public void matchesParallel_fails()
+    {
+    // Given...
+    List<Drawing> expected =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> new Drawing( "Drawing-" + i, circle( RED), triangle( GREEN), rectangle( BLUE)))
+      .collect( toList());
+
+    List<Drawing> actual =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> new Drawing( "Drawing-" + i, circle( RED), triangle( i % 300 == 299? RED : GREEN), rectangle( BLUE)))
+      .collect( toList());
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Parallel", actual, new ListsMatching<Drawing>( expected, DrawingMatcher::new).parallel( new ForkJoinPool( 4))))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: At position=299, Drawing[Drawing-299] matching elements=Iterable containing TRIANGLE[Color[0,255,0]] matching color=<Color[0,255,0]>",
+                   "but: was <Color[255,0,0]>"))));
+    }
   }
@@ -13,6 +13,7 @@ import static org.cornutum.hamcrest.Drawing.Color.*;
 import static org.cornutum.hamcrest.Composites.*;
 import static org.cornutum.hamcrest.ExpectedFailure.*;
 
+import org.hamcrest.Matchers;
 import org.junit.Test;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
@@ -276,4 +277,110 @@ public class ListsMembersTest
                    "Expected: Sequence containing Drawing[Blues] matching elements=Iterable containing CIRCLE[Color[0,0,255]] matching color=<Color[0,0,255]>",
                    "but: was <Color[255,0,0]>"))));
     }
+
+  @Test
+  public void matchesFailFastInvalid_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue");
+
+    // Then...
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new ListsMembers<String>( expected).failFast( 0));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new ListsMembers.Supplier<String,List<String>>( Matchers::equalTo).failFast( -1));
+    }
+
+  @Test
+  public void matchesFailFast_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Magenta", "Cyan");
+    List<String> actual = Arrays.asList( "Green", "Blue", "Red");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Fail fast", actual, new ListsMembers<String>( expected).failFast( 1)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 5 members",
+                   "but: was missing 2 members=[Magenta, ... and 1 more]"))));
+    }
+
+  @Test
+  public void matchesMemberMatcher_outOfOrder()
+    {
+    // Given...
+    List<Drawing> expected =
+      Arrays.asList(
+        new Drawing( "Greens", triangle( GREEN), circle( GREEN), rectangle( GREEN)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)),
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)));
+
+    List<Drawing> actual =
+      Arrays.asList(
+        new Drawing( "Greens", triangle( GREEN), circle( RED), rectangle( GREEN)),
+        new Drawing( "Reds", circle( RED), triangle( RED), rectangle( RED)),
+        new Drawing( "Blues", rectangle( BLUE), circle( BLUE), triangle( BLUE)));
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Member matchers", actual, listsMembers( DrawingMatcher::new, expected)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 3 members",
+                   "but: at index=1, found Drawing[Reds] instead of Drawing[Blues]"))));
+    }
+
+  @Test
+  public void matchesDiff_fails()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Yellow", "Cyan");
+    List<String> actual = Arrays.asList( "Red", "Blue", "Yellow", "Magenta", "White");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Diff", actual, new ListsMembers<String>( expected).diff( 4)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 5 members",
+                   "but: differed in 2 hunks:",
+                   "at index=1, was missing [Green]",
+                   "at index=3, found [Magenta, White] instead of [Cyan]"))));
+    }
+
+  @Test
+  public void matchesDiff_tooManyEdits()
+    {
+    // Given...
+    List<String> expected = Arrays.asList( "Red", "Green", "Blue", "Yellow", "Cyan");
+    List<String> actual = Arrays.asList( "Red", "Blue", "Yellow", "Magenta", "White");
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Diff", actual, new ListsMembers<String>( expected).diff( 3)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 5 members",
+                   "but: was missing 2 members=[Green, Cyan]",
+                   "and: had 2 unexpected members=[Magenta, White]"))));
+    }
   }
@@ -0,0 +1,132 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.cornutum.hamcrest.Drawing.DrawingMatcher;
+import org.cornutum.hamcrest.Drawing.Shape;
+import static org.cornutum.hamcrest.Drawing.*;
+import static org.cornutum.hamcrest.Drawing.Color.*;
+import static org.cornutum.hamcrest.Composites.*;
+
+import org.hamcrest.Matcher;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link MatchResult}.
+ */
+public class MatchResultTest
+  {
+  @Test
+  public void whenMatched()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED));
+    Drawing actual = new Drawing( "Dots", circle( RED));
+
+    // When...
+    MatchResult result = MatchResult.of( new DrawingMatcher( expected), actual);
+
+    // Then...
+    assertThat( "Matches", result.matches(), is( true));
+    assertThat( "Actual", result.getActual(), is( sameInstance( actual)));
+    assertThat( "Expected", result.getExpected().isPresent(), is( false));
+    assertThat( "Mismatch", result.getMismatch().isPresent(), is( false));
+    }
+
+  @Test
+  public void whenMismatched()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED));
+    Drawing actual = new Drawing( "Dots", circle( BLUE));
+
+    // When...
+    MatchResult result = MatchResult.of( new DrawingMatcher( expected), actual);
+
+    // Then...
+    assertThat( "Matches", result.matches(), is( false));
+    assertThat( "Expected", result.getExpected().orElse( null), is( "Drawing[Dots] matching elements=Iterable containing CIRCLE[Color[255,0,0]] matching color=<Color[255,0,0]>"));
+    assertThat( "Mismatch", result.getMismatch().orElse( null), is( "was <Color[0,0,255]>"));
+    }
+
+  @Test
+  public void whenSharedComposite()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<Drawing> actuals =
+      IntStream.range( 0, 2000)
+      .mapToObj( i -> new Drawing( i % 5 == 0? "Lines" : "Dots", circle( RED), triangle( i % 3 == 0? RED : GREEN), rectangle( BLUE)))
+      .collect( toList());
+
+    // Then...
+    assertSharedResults( new DrawingMatcher( expected), DrawingMatcher::new, expected, actuals);
+    }
+
+  @Test
+  public void whenSharedMembers()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<List<Shape>> actuals =
+      IntStream.range( 0, 2000)
+      .mapToObj( i -> Arrays.asList( i % 7 == 0? circle( GREEN) : circle( RED), triangle( GREEN), rectangle( i % 2 == 0? RED : BLUE)))
+      .collect( toList());
+
+    // Then...
+    assertSharedResults(
+      containsMembers( Drawing.ShapeMatcher::new, expected),
+      e -> containsMembers( Drawing.ShapeMatcher::new, e),
+      expected,
+      actuals);
+    }
+
+  @Test
+  public void whenSharedEntries()
+    {
+    // Given...
+    Map<String,Shape> expected = new MapBuilder<String,Shape>().put( "A", circle( RED)).put( "B", triangle( GREEN)).build();
+    List<Map<String,Shape>> actuals =
+      IntStream.range( 0, 2000)
+      .mapToObj( i -> new MapBuilder<String,Shape>().put( "A", circle( i % 3 == 0? BLUE : RED)).put( i % 4 == 0? "C" : "B", triangle( GREEN)).build())
+      .collect( toList());
+
+    // Then...
+    assertSharedResults(
+      containsEntries( Drawing.ShapeMatcher::new, expected),
+      e -> containsEntries( Drawing.ShapeMatcher::new, e),
+      expected,
+      actuals);
+    }
+
+  /**
+   * Reports a failure if the results of applying the given shared Matcher concurrently to the given actual objects differ from
+   * the results of applying a new Matcher to each actual object.
+   */
+  private <T> void assertSharedResults( Matcher<?> shared, Function<T,Matcher<?>> matcherSupplier, T expected, List<?> actuals)
+    {
+    // When...
+    List<MatchResult> sharedResults = actuals.parallelStream().map( actual -> MatchResult.of( shared, actual)).collect( toList());
+
+    // Then...
+    for( int i = 0; i < actuals.size(); i++)
+      {
+      MatchResult result = MatchResult.of( matcherSupplier.apply( expected), actuals.get(i));
+      assertThat( "Result[" + i + "]", sharedResults.get(i).toString(), is( result.toString()));
+      }
+    }
+  }
@@ -0,0 +1,185 @@
+//////////////////////////////////////////////////////////////////////////////
+// 
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.hamcrest;
+
+import org.cornutum.hamcrest.Drawing.DrawingMatcher;
+import org.cornutum.hamcrest.Drawing.Shape;
+import org.cornutum.hamcrest.Drawing.ShapeMatcher;
+import static org.cornutum.hamcrest.Drawing.*;
+import static org.cornutum.hamcrest.Drawing.Color.*;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.cornutum.hamcrest.ExpectedFailure.*;
+
+import org.hamcrest.Matcher;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link PreparedMatcher}.
+ */
+public class PreparedMatcherTest
+  {
+  @Test
+  public void matchAllComposite()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<Drawing> actuals =
+      IntStream.range( 0, 500)
+      .mapToObj( i -> new Drawing( i % 5 == 0? "Lines" : "Dots", circle( RED), triangle( i % 3 == 0? RED : GREEN), rectangle( BLUE)))
+      .collect( toList());
+
+    // Then...
+    assertPreparedResults( prepare( new DrawingMatcher( expected)), DrawingMatcher::new, expected, actuals);
+    }
+
+  @Test
+  public void matchAllMembers()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE), circle( RED));
+    List<List<Shape>> actuals =
+      IntStream.range( 0, 500)
+      .mapToObj( i -> Arrays.asList( circle( RED), i % 7 == 0? circle( GREEN) : circle( RED), triangle( GREEN), rectangle( i % 2 == 0? RED : BLUE)))
+      .collect( toList());
+
+    // Then...
+    assertPreparedResults(
+      prepare( containsMembers( ShapeMatcher::new, expected)).parallel(),
+      e -> containsMembers( ShapeMatcher::new, e),
+      expected,
+      actuals);
+    }
+
+  @Test
+  public void matchAllLists()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<List<Shape>> actuals =
+      IntStream.range( 0, 500)
+      .mapToObj( i -> Arrays.asList( circle( RED), i % 3 == 0? rectangle( BLUE) : triangle( GREEN), rectangle( i % 4 == 0? GREEN : BLUE)))
+      .collect( toList());
+
+    // Then...
+    assertPreparedResults(
+      prepare( listsMembers( ShapeMatcher::new, expected)).parallel(),
+      e -> listsMembers( ShapeMatcher::new, e),
+      expected,
+      actuals);
+    }
+
+  @Test
+  public void matchAllEntries()
+    {
+    // Given...
+    Map<String,Shape> expected = new MapBuilder<String,Shape>().put( "A", circle( RED)).put( "B", triangle( GREEN)).put( null, rectangle( BLUE)).build();
+    List<Map<String,Shape>> actuals =
+      IntStream.range( 0, 500)
+      .mapToObj( i -> new MapBuilder<String,Shape>().put( "A", circle( i % 3 == 0? BLUE : RED)).put( i % 4 == 0? "C" : "B", triangle( GREEN)).put( null, rectangle( BLUE)).build())
+      .collect( toList());
+
+    // Then...
+    assertPreparedResults(
+      prepare( containsEntries( ShapeMatcher::new, expected)).parallel(),
+      e -> containsEntries( ShapeMatcher::new, e),
+      expected,
+      actuals);
+    }
+
+  @Test
+  public void matchAllSuppliesOnce()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<List<Shape>> actuals =
+      IntStream.range( 0, 100)
+      .mapToObj( i -> Arrays.asList( rectangle( BLUE), circle( RED), triangle( GREEN)))
+      .collect( toList());
+
+    AtomicInteger supplied = new AtomicInteger();
+    Function<Shape,Matcher<Shape>> memberMatcherSupplier = shape -> { supplied.incrementAndGet(); return new ShapeMatcher( shape); };
+
+    // When...
+    List<MatchResult> results = prepare( containsMembers( memberMatcherSupplier, expected)).matchAll( actuals);
+
+    // Then...
+    assertThat( "Results", results.stream().filter( MatchResult::matches).count(), is( (long) actuals.size()));
+    assertThat( "Member matchers supplied", supplied.get(), is( expected.size()));
+    }
+
+  @Test
+  public void matchAllStreamingSuppliesOnce()
+    {
+    // Given...
+    List<Shape> expected = Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE));
+    List<List<Shape>> actuals =
+      IntStream.range( 0, 100)
+      .mapToObj( i -> Arrays.asList( circle( RED), triangle( GREEN), rectangle( BLUE)))
+      .collect( toList());
+
+    AtomicInteger supplied = new AtomicInteger();
+    Function<Shape,Matcher<Shape>> memberMatcherSupplier = shape -> { supplied.incrementAndGet(); return new ShapeMatcher( shape); };
+
+    // When...
+    List<MatchResult> results = prepare( new ListsMatching<Shape>( expected, memberMatcherSupplier).streaming( 2)).matchAll( actuals);
+
+    // Then...
+    assertThat( "Results", results.stream().filter( MatchResult::matches).count(), is( (long) actuals.size()));
+    assertThat( "Member matchers supplied", supplied.get(), is( expected.size()));
+    }
+
+  @Test
+  public void matchesPrepared_fails()
+    {
+    // Given...
+    Drawing expected = new Drawing( "Dots", circle( RED), triangle( GREEN));
+    Drawing actual = new Drawing( "Dots", circle( RED), triangle( BLUE));
+    PreparedMatcher<Drawing> prepared = prepare( new DrawingMatcher( expected));
+    prepared.matchAll( Arrays.asList( expected, actual));
+
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Prepared", actual, prepared))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Drawing[Dots] matching elements=Iterable containing TRIANGLE[Color[0,255,0]] matching color=<Color[0,255,0]>",
+                   "but: was <Color[0,0,255]>"))));
+    }
+
+  /**
+   * Reports a failure if the results of applying the given prepared Matcher to the given actual objects differ from
+   * the results of applying a new Matcher to each actual object.
+   */
+  private <T> void assertPreparedResults( PreparedMatcher<?> prepared, Function<T,Matcher<?>> matcherSupplier, T expected, List<?> actuals)
+    {
+    // When...
+    List<MatchResult> preparedResults = prepared.matchAll( actuals);
+
+    // Then...
+    assertThat( "Results", preparedResults.size(), is( actuals.size()));
+    for( int i = 0; i < actuals.size(); i++)
+      {
+      MatchResult result = MatchResult.of( matcherSupplier.apply( expected), actuals.get(i));
+      assertThat( "Result[" + i + "]", preparedResults.get(i).toString(), is( result.toString()));
+      }
+    }
+  }
@@ -147,4 +147,96 @@ public class VisitsListTest
                    "but: was missing 1 members=[Green]",
                    "and: had 1 unexpected members=[Yellow]"))));
     }
+
+  @Test
+  public void matchesStreaming()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green", "Blue").iterator();
+    Iterator<String> actual = Arrays.asList( "Red", "Green", "Blue").iterator();
+    
+    // When...
+    assertThat( "Streaming", actual, new VisitsList<String>( expected).streaming( 2));
+    }
+
+  @Test
+  public void matchesStreamingNull_fails()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green", "Blue").iterator();
+    Iterator<String> actual = null;
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new VisitsList<String>( expected).streaming( 2)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of members",
+                   "but: was null"))));
+    }
+
+  @Test
+  public void matchesStreamingSequence_fails()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green", "Blue", "Yellow", "Cyan").iterator();
+    Iterator<String> actual = Arrays.asList( "Red", "Green", "Blue", "Magenta", "Cyan").iterator();
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new VisitsList<String>( expected).streaming( 2)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of at least 4 members",
+                   "but: at index=3, found Magenta instead of Yellow",
+                   "after: [Green, Blue]"))));
+    }
+
+  @Test
+  public void matchesStreamingUnexpected_fails()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green").iterator();
+    Iterator<String> actual = Arrays.asList( "Red", "Green", "Blue", "Yellow", "Cyan").iterator();
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new VisitsList<String>( expected).streaming( 1)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               stringContainsInOrder(
+                 Arrays.asList(
+                   "Expected: Sequence of 2 members",
+                   "but: had 3 unexpected members=[Blue, Yellow, Cyan] starting at position=2",
+                   "after: [Green]"))));
+    }
+  
+  @Test
+  public void matchesStreamingNoContext_fails()
+    {
+    // Given...
+    Iterator<String> expected = Arrays.asList( "Red", "Green", "Blue", "Yellow").iterator();
+    Iterator<String> actual = Arrays.asList( "Red", "Green").iterator();
+    
+    // Then...
+    expectFailure()
+      .when( () -> assertThat( "Streaming", actual, new VisitsList<String>( expected).streaming( 0)))
+      .then( failure ->
+             assertThat(
+               "Failure message",
+               failure.getMessage(),
+               allOf(
+                 containsString( "but: was missing 2 members=[Blue, Yellow] starting at position=2"),
+                 not( containsString( "after:")))));
+    }
   }